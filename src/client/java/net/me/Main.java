@@ -1,26 +1,63 @@
 package net.me;
 
 import net.fabricmc.api.ClientModInitializer;
-import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.ResourceReloadListenerKeys;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.me.command.CommandManager;
 import net.me.scripting.ScriptManager;
+import net.me.scripting.diagnostics.StartupTracer;
+import net.me.scripting.env.ScriptEnvironments;
 import net.me.scripting.mappings.MappingsManager;
+import net.me.utils.TextLayoutCache;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 
 public class Main implements ClientModInitializer {
     public static final String MOD_ID = "my-qol-scripts";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
     public static final String MC_VERSION = "1.21.4";
-    public static final Path MOD_DIR = FabricLoader.getInstance().getGameDir().resolve(MOD_ID);
+    public static final Path MOD_DIR = ScriptEnvironments.get().modDir();
 
     @Override
     public void onInitializeClient() {
-        MappingsManager.getInstance().init();
-        ScriptManager.getInstance().init();
-        CommandManager.getInstance().init();
+        try (var span = StartupTracer.begin("startup", "onInitializeClient")) {
+            MappingsManager.getInstance().init();
+            try (var scriptsSpan = StartupTracer.begin("startup", "ScriptManager.init")) {
+                ScriptManager.getInstance().init();
+            }
+            CommandManager.getInstance().init();
+            ClientTickEvents.END_CLIENT_TICK.register(client -> ScriptManager.getInstance().tick());
+            registerReloadListeners();
+        }
+        StartupTracer.flush();
         LOGGER.info("Hello from MyQOLScripts!");
     }
+
+    private static void registerReloadListeners() {
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return Identifier.of(MOD_ID, "text_layout_cache");
+            }
+
+            @Override
+            public Collection<Identifier> getFabricDependencies() {
+                return List.of(ResourceReloadListenerKeys.FONTS);
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                TextLayoutCache.clear();
+            }
+        });
+    }
 }
\ No newline at end of file
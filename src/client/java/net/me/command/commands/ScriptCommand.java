@@ -1,5 +1,6 @@
 package net.me.command.commands;
 
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
@@ -10,15 +11,27 @@ import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
 import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
 import net.me.command.Command;
 import net.me.command.CommandManager;
+import net.me.Main;
 import net.me.scripting.ScriptManager;
+import net.me.scripting.diagnostics.CpuSamplingProfiler;
+import net.me.scripting.diagnostics.ScriptProfiler;
+import net.me.scripting.diagnostics.ScriptStats;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.me.scripting.metrics.ScriptingMetrics;
 import net.me.scripting.module.RunningScript;
 import net.me.scripting.module.ScriptDescriptor;
 import net.minecraft.text.Text;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class ScriptCommand extends Command {
+    private static final int DEFAULT_TOP_COUNT = 5;
+    private static final int DEFAULT_SAMPLE_PERIOD_MS = 1;
 
     @Override
     protected LiteralArgumentBuilder<FabricClientCommandSource> buildCommand() {
@@ -36,7 +49,36 @@ public class ScriptCommand extends Command {
                 .then(ClientCommandManager.literal("reload")
                         .then(ClientCommandManager.argument("script_id", StringArgumentType.greedyString())
                                 .suggests(this::suggestEnabledScripts)
-                                .executes(this::reloadScript)));
+                                .executes(this::reloadScript)))
+                .then(ClientCommandManager.literal("metrics")
+                        .executes(context -> showMetrics(context, ""))
+                        .then(ClientCommandManager.literal("hooks")
+                                .then(ClientCommandManager.literal("on")
+                                        .executes(context -> setHookLatency(context, true)))
+                                .then(ClientCommandManager.literal("off")
+                                        .executes(context -> setHookLatency(context, false))))
+                        .then(ClientCommandManager.argument("prefix", StringArgumentType.word())
+                                .executes(context -> showMetrics(context, StringArgumentType.getString(context, "prefix")))))
+                .then(ClientCommandManager.literal("profile")
+                        .then(ClientCommandManager.literal("start")
+                                .executes(this::startProfiler))
+                        .then(ClientCommandManager.literal("stop")
+                                .executes(this::stopProfiler))
+                        .then(ClientCommandManager.literal("reset")
+                                .executes(this::resetProfiler))
+                        .then(ClientCommandManager.literal("dump")
+                                .executes(this::dumpProfiler))
+                        .then(ClientCommandManager.literal("cpu")
+                                .then(ClientCommandManager.literal("start")
+                                        .executes(context -> startCpuSampler(context, DEFAULT_SAMPLE_PERIOD_MS))
+                                        .then(ClientCommandManager.argument("period_ms", IntegerArgumentType.integer(1, 1000))
+                                                .executes(context -> startCpuSampler(context, IntegerArgumentType.getInteger(context, "period_ms")))))
+                                .then(ClientCommandManager.literal("stop")
+                                        .executes(this::stopCpuSampler)))
+                        .then(ClientCommandManager.literal("top")
+                                .executes(context -> showTopScripts(context, DEFAULT_TOP_COUNT))
+                                .then(ClientCommandManager.argument("count", IntegerArgumentType.integer(1, 50))
+                                        .executes(context -> showTopScripts(context, IntegerArgumentType.getInteger(context, "count"))))));
     }
 
     private int listScripts(CommandContext<FabricClientCommandSource> context) {
@@ -73,6 +115,108 @@ public class ScriptCommand extends Command {
         return CommandManager.COMMAND_SUCCESS;
     }
 
+    private int startProfiler(CommandContext<FabricClientCommandSource> context) {
+        if (ScriptProfiler.isEnabled()) {
+            context.getSource().sendFeedback(Text.literal("§eScript profiler is already running."));
+            return CommandManager.COMMAND_FAILURE;
+        }
+        ScriptProfiler.start();
+        context.getSource().sendFeedback(Text.literal("§aScript profiler started."));
+        return CommandManager.COMMAND_SUCCESS;
+    }
+
+    private int stopProfiler(CommandContext<FabricClientCommandSource> context) {
+        if (!ScriptProfiler.isEnabled()) {
+            context.getSource().sendFeedback(Text.literal("§eScript profiler is not running."));
+            return CommandManager.COMMAND_FAILURE;
+        }
+        ScriptProfiler.stop();
+        context.getSource().sendFeedback(Text.literal(String.format("§aScript profiler stopped after %.1fs.", ScriptProfiler.sessionNanos() / 1e9)));
+        return CommandManager.COMMAND_SUCCESS;
+    }
+
+    private int resetProfiler(CommandContext<FabricClientCommandSource> context) {
+        ScriptProfiler.reset();
+        context.getSource().sendFeedback(Text.literal("Script profiler data cleared."));
+        return CommandManager.COMMAND_SUCCESS;
+    }
+
+    private int dumpProfiler(CommandContext<FabricClientCommandSource> context) {
+        try {
+            Path file = ScriptProfiler.dump();
+            context.getSource().sendFeedback(Text.literal("Profile written to " + file.getFileName()));
+            return CommandManager.COMMAND_SUCCESS;
+        } catch (IOException e) {
+            Main.LOGGER.error("Failed to write script profile", e);
+            context.getSource().sendFeedback(Text.literal("§cFailed to write profile: " + e.getMessage()));
+            return CommandManager.COMMAND_FAILURE;
+        }
+    }
+
+    private int startCpuSampler(CommandContext<FabricClientCommandSource> context, int periodMillis) {
+        try {
+            CpuSamplingProfiler.start(ScriptManager.getInstance().getEngine(), periodMillis);
+            context.getSource().sendFeedback(Text.literal("§aCPU sampler started (" + periodMillis + "ms period)."));
+            return CommandManager.COMMAND_SUCCESS;
+        } catch (Exception e) {
+            Main.LOGGER.error("Failed to start CPU sampler", e);
+            context.getSource().sendFeedback(Text.literal("§cFailed to start CPU sampler: " + e.getMessage()));
+            return CommandManager.COMMAND_FAILURE;
+        }
+    }
+
+    private int stopCpuSampler(CommandContext<FabricClientCommandSource> context) {
+        try {
+            CpuSamplingProfiler.Result result = CpuSamplingProfiler.stop();
+            context.getSource().sendFeedback(Text.literal("§aCPU sampler stopped: " + result.samples() + " samples written to " + result.file().getFileName()));
+            return CommandManager.COMMAND_SUCCESS;
+        } catch (Exception e) {
+            Main.LOGGER.error("Failed to stop CPU sampler", e);
+            context.getSource().sendFeedback(Text.literal("§cFailed to stop CPU sampler: " + e.getMessage()));
+            return CommandManager.COMMAND_FAILURE;
+        }
+    }
+
+    private int showTopScripts(CommandContext<FabricClientCommandSource> context, int count) {
+        List<ScriptStats.Snapshot> top = ScriptProfiler.top(count);
+        double sessionMs = ScriptProfiler.sessionNanos() / 1e6;
+        context.getSource().sendFeedback(Text.literal(String.format("§a--- Top %d Scripts (%.1fs, clock reads ~%.2fms) ---",
+                count, sessionMs / 1000, ScriptProfiler.estimatedTimerNanos() / 1e6)));
+        if (top.isEmpty()) {
+            context.getSource().sendFeedback(Text.literal(" No samples recorded. Use /script profile start first."));
+        }
+        for (ScriptStats.Snapshot s : top) {
+            double wallMs = s.wallNanos() / 1e6;
+            double share = sessionMs > 0 ? wallMs * 100 / sessionMs : 0;
+            context.getSource().sendFeedback(Text.literal(String.format(" - %s: %.2fms (%.2f%%), %d calls, %d host calls, %d wrappers",
+                    s.scriptId(), wallMs, share, s.calls(), s.hostCalls(), s.wrapperAllocations())));
+        }
+        return CommandManager.COMMAND_SUCCESS;
+    }
+
+    private int showMetrics(CommandContext<FabricClientCommandSource> context, String prefix) {
+        Map<String, Number> values = MetricsRegistry.getInstance().values();
+        context.getSource().sendFeedback(Text.literal("§a--- Scripting Metrics ---"));
+        int shown = 0;
+        for (Map.Entry<String, Number> entry : values.entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) continue;
+            Number value = entry.getValue();
+            String formatted = value instanceof Double d ? String.format("%.3f", d) : value.toString();
+            context.getSource().sendFeedback(Text.literal(" - " + entry.getKey() + ": " + formatted));
+            shown++;
+        }
+        if (shown == 0) {
+            context.getSource().sendFeedback(Text.literal(" No metrics match '" + prefix + "'."));
+        }
+        return CommandManager.COMMAND_SUCCESS;
+    }
+
+    private int setHookLatency(CommandContext<FabricClientCommandSource> context, boolean enabled) {
+        ScriptingMetrics.setHookLatencyEnabled(enabled);
+        context.getSource().sendFeedback(Text.literal("§aHook latency metrics " + (enabled ? "enabled." : "disabled.")));
+        return CommandManager.COMMAND_SUCCESS;
+    }
+
     private CompletableFuture<Suggestions> suggestEnabledScripts(CommandContext<FabricClientCommandSource> context, SuggestionsBuilder builder) {
         ScriptManager.getInstance().getRunningScripts().stream()
                 .map(RunningScript::getId)
@@ -0,0 +1,24 @@
+package net.me.mixin.client;
+
+import net.me.screen.hud.HudManager;
+import net.me.scripting.events.GameEvents;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.hud.InGameHud;
+import net.minecraft.client.render.RenderTickCounter;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(InGameHud.class)
+public class InGameHudMixin {
+    @Inject(at = @At("TAIL"), method = "render")
+    private void onRender(DrawContext context, RenderTickCounter tickCounter, CallbackInfo info) {
+        if (HudManager.getInstance().hasLayers()) {
+            HudManager.getInstance().render(context);
+        }
+        if (GameEvents.RENDER_HUD.hasListeners()) {
+            GameEvents.RENDER_HUD.dispatch(context, tickCounter.getTickDelta(false));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package net.me.mixin.client;
+
+import net.me.scripting.events.GameEvents;
+import net.minecraft.client.Keyboard;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Keyboard.class)
+public class KeyboardMixin {
+    @Inject(at = @At("HEAD"), method = "onKey")
+    private void onKey(long window, int key, int scancode, int action, int modifiers, CallbackInfo info) {
+        if (GameEvents.KEY.hasListeners()) {
+            GameEvents.KEY.dispatch(key, scancode, action, modifiers);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package net.me.mixin.client;
+
+import net.me.scripting.events.GameEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.world.ClientWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(MinecraftClient.class)
+public class MinecraftClientMixin {
+    @Shadow
+    public ClientWorld world;
+
+    @Inject(at = @At("TAIL"), method = "tick")
+    private void onTick(CallbackInfo info) {
+        if (GameEvents.TICK.hasListeners()) {
+            GameEvents.TICK.dispatch();
+        }
+    }
+
+    @Inject(at = @At("TAIL"), method = "joinWorld")
+    private void onJoinWorld(CallbackInfo info) {
+        if (GameEvents.JOIN_WORLD.hasListeners()) {
+            GameEvents.JOIN_WORLD.dispatch(world);
+        }
+    }
+
+    @Inject(at = @At("HEAD"), method = "disconnect(Lnet/minecraft/client/gui/screen/Screen;Z)V")
+    private void onDisconnect(Screen disconnectionScreen, boolean transferring, CallbackInfo info) {
+        if (world != null && GameEvents.LEAVE_WORLD.hasListeners()) {
+            GameEvents.LEAVE_WORLD.dispatch();
+        }
+    }
+}
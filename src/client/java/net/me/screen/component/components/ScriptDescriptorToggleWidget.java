@@ -4,6 +4,7 @@ package net.me.screen.component.components;
 import net.me.scripting.ScriptManager;
 import net.me.scripting.module.ScriptDescriptor;
 import net.me.utils.GUIColors;
+import net.me.utils.Render2DBatch;
 import net.me.utils.Render2DUtils;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.narration.NarrationMessageBuilder;
@@ -11,7 +12,7 @@ import net.minecraft.client.gui.widget.PressableWidget;
 import net.minecraft.text.Text;
 
 public class ScriptDescriptorToggleWidget extends PressableWidget {
-    private final ScriptDescriptor descriptor;
+    private ScriptDescriptor descriptor;
 
     protected ScriptDescriptorToggleWidget(int x, int y, int width, int height, ScriptDescriptor descriptor) {
         super(x, y, width, height, Text.literal(""));
@@ -36,10 +37,12 @@ public class ScriptDescriptorToggleWidget extends PressableWidget {
     protected void renderWidget(DrawContext context, int mouseX, int mouseY, float delta) {
         boolean isHovered = this.active && this.isMouseOver(mouseX, mouseY);
         int color = isHovered ? GUIColors.DARK_L3.getRGBA() : GUIColors.DARK_L2.getRGBA();
-        Render2DUtils.drawRoundedRect(context, this.getX(), this.getY(), this.getWidth(), this.getHeight(), 3, 10, color);
+        try (var batch = Render2DBatch.begin()) {
+            Render2DUtils.drawRoundedRect(context, this.getX(), this.getY(), this.getWidth(), this.getHeight(), 3, 10, color);
+            renderToggleState(context, isHovered);
+        }
         Render2DUtils.drawText(context, this.descriptor.moduleName(), this.getX() + 5, this.getY() + 5, GUIColors.WHITE.getRGBA(), true, 1);
         Render2DUtils.drawText(context, this.descriptor.path().getFileName().toString(), this.getX() + 5, this.getY() + 16, GUIColors.WHITE.darker(25).getRGB(), true, 0.8f);
-        renderToggleState(context, isHovered);
     }
 
     private void renderToggleState(DrawContext context, boolean isHovered) {
@@ -65,6 +68,11 @@ public class ScriptDescriptorToggleWidget extends PressableWidget {
         return descriptor;
     }
 
+    // Lets a list recycle the widget for another row instead of creating a new one.
+    public void setDescriptor(ScriptDescriptor descriptor) {
+        this.descriptor = descriptor;
+    }
+
     public static class Builder {
         private final ScriptDescriptor descriptor;
         private int x;
@@ -0,0 +1,57 @@
+package net.me.screen.hud;
+
+// Setters only mark the layer dirty when a value actually changes, so scripts can assign every tick for free.
+public abstract class HudElement {
+    protected final HudLayer layer;
+    protected float x;
+    protected float y;
+    private boolean visible = true;
+
+    protected HudElement(HudLayer layer, float x, float y) {
+        this.layer = layer;
+        this.x = x;
+        this.y = y;
+    }
+
+    // Whether changes to this element invalidate the layer's cached vertex buffer.
+    protected abstract boolean isGeometry();
+
+    protected void changed() {
+        if (isGeometry()) {
+            layer.markGeometryDirty();
+        }
+    }
+
+    public HudElement setPosition(double x, double y) {
+        if (this.x != (float) x || this.y != (float) y) {
+            this.x = (float) x;
+            this.y = (float) y;
+            changed();
+        }
+        return this;
+    }
+
+    public HudElement setVisible(boolean visible) {
+        if (this.visible != visible) {
+            this.visible = visible;
+            changed();
+        }
+        return this;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public void remove() {
+        layer.remove(this);
+    }
+}
@@ -0,0 +1,38 @@
+package net.me.screen.hud;
+
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.util.Identifier;
+
+public class HudIcon extends HudElement {
+    private Identifier texture;
+    private int width;
+    private int height;
+
+    HudIcon(HudLayer layer, float x, float y, Identifier texture, int width, int height) {
+        super(layer, x, y);
+        this.texture = texture;
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    protected boolean isGeometry() {
+        return false;
+    }
+
+    void draw(DrawContext context) {
+        context.drawTexture(RenderLayer::getGuiTextured, texture, (int) x, (int) y, 0, 0, width, height, width, height);
+    }
+
+    public HudIcon setTexture(String id) {
+        this.texture = Identifier.of(id);
+        return this;
+    }
+
+    public HudIcon setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+}
@@ -0,0 +1,153 @@
+package net.me.screen.hud;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.gl.ShaderProgramKeys;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.*;
+import net.minecraft.util.Identifier;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A retained group of HUD elements. Rect geometry lives in a static GPU buffer rebuilt only when a rect changes;
+// moving the whole layer just changes the matrix. Draw order: rects, then icons, then text.
+public class HudLayer {
+    private static final Counter REBUILDS = MetricsRegistry.getInstance().counter("hud.rebuilds");
+    private static final Counter CACHED_DRAWS = MetricsRegistry.getInstance().counter("hud.cachedDraws");
+
+    private final String owner;
+    private final List<HudElement> elements = new ArrayList<>();
+    private final Matrix4f scratch = new Matrix4f();
+    private VertexBuffer buffer;
+    private boolean geometryDirty = true;
+    private boolean hasGeometry;
+    private boolean visible = true;
+    private float offsetX;
+    private float offsetY;
+
+    HudLayer(String owner) {
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public HudRect rect(double x, double y, double width, double height, long argb) {
+        return add(new HudRect(this, (float) x, (float) y, (float) width, (float) height, (int) argb));
+    }
+
+    public HudText text(String content, double x, double y, long argb) {
+        return add(new HudText(this, (float) x, (float) y, content, (int) argb));
+    }
+
+    public HudIcon icon(String textureId, double x, double y, int width, int height) {
+        return add(new HudIcon(this, (float) x, (float) y, Identifier.of(textureId), width, height));
+    }
+
+    public HudLayer setOffset(double x, double y) {
+        this.offsetX = (float) x;
+        this.offsetY = (float) y;
+        return this;
+    }
+
+    public HudLayer setVisible(boolean visible) {
+        this.visible = visible;
+        return this;
+    }
+
+    public void clear() {
+        elements.clear();
+        geometryDirty = true;
+    }
+
+    public void remove() {
+        HudManager.getInstance().removeLayer(this);
+    }
+
+    void remove(HudElement element) {
+        if (elements.remove(element) && element.isGeometry()) {
+            geometryDirty = true;
+        }
+    }
+
+    void markGeometryDirty() {
+        geometryDirty = true;
+    }
+
+    private <T extends HudElement> T add(T element) {
+        elements.add(element);
+        if (element.isGeometry()) {
+            geometryDirty = true;
+        }
+        return element;
+    }
+
+    void render(DrawContext context) {
+        if (!visible) return;
+        if (geometryDirty) {
+            rebuild();
+        }
+        if (hasGeometry) {
+            RenderSystem.enableBlend();
+            ShaderProgram shader = RenderSystem.setShader(ShaderProgramKeys.POSITION_COLOR);
+            scratch.set(RenderSystem.getModelViewMatrix())
+                    .mul(context.getMatrices().peek().getPositionMatrix())
+                    .translate(offsetX, offsetY, 0);
+            buffer.bind();
+            buffer.draw(scratch, RenderSystem.getProjectionMatrix(), shader);
+            VertexBuffer.unbind();
+            RenderSystem.disableBlend();
+            CACHED_DRAWS.increment();
+        }
+
+        boolean offset = offsetX != 0 || offsetY != 0;
+        if (offset) {
+            context.getMatrices().push();
+            context.getMatrices().translate(offsetX, offsetY, 0);
+        }
+        for (HudElement element : elements) {
+            if (element.isVisible() && element instanceof HudIcon icon) icon.draw(context);
+        }
+        for (HudElement element : elements) {
+            if (element.isVisible() && element instanceof HudText text) text.draw(context);
+        }
+        if (offset) {
+            context.getMatrices().pop();
+        }
+    }
+
+    private void rebuild() {
+        geometryDirty = false;
+        BufferBuilder builder = Tessellator.getInstance().begin(VertexFormat.DrawMode.TRIANGLES, VertexFormats.POSITION_COLOR);
+        for (HudElement element : elements) {
+            if (element.isVisible() && element instanceof HudRect rect) {
+                rect.emit((x, y, color) -> builder.vertex(x, y, 0).color(color));
+            }
+        }
+        BuiltBuffer built = builder.endNullable();
+        hasGeometry = built != null;
+        if (built == null) return;
+        if (buffer == null) {
+            buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+        }
+        buffer.bind();
+        buffer.upload(built);
+        VertexBuffer.unbind();
+        REBUILDS.increment();
+    }
+
+    void close() {
+        elements.clear();
+        if (buffer != null) {
+            buffer.close();
+            buffer = null;
+        }
+        hasGeometry = false;
+    }
+}
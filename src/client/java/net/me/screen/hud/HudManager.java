@@ -0,0 +1,61 @@
+package net.me.screen.hud;
+
+import net.me.scripting.module.ScriptScope;
+import net.minecraft.client.gui.DrawContext;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class HudManager {
+    private static final HudManager INSTANCE = new HudManager();
+
+    private final List<HudLayer> layers = new CopyOnWriteArrayList<>();
+    private volatile boolean hasLayers;
+
+    private HudManager() {
+    }
+
+    public static HudManager getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean hasLayers() {
+        return hasLayers;
+    }
+
+    public HudLayer createLayer() {
+        HudLayer layer = new HudLayer(ScriptScope.current());
+        layers.add(layer);
+        hasLayers = true;
+        return layer;
+    }
+
+    void removeLayer(HudLayer layer) {
+        if (layers.remove(layer)) {
+            layer.close();
+        }
+        hasLayers = !layers.isEmpty();
+    }
+
+    public void removeOwnedBy(String owner) {
+        for (HudLayer layer : layers) {
+            if (owner.equals(layer.getOwner())) {
+                removeLayer(layer);
+            }
+        }
+    }
+
+    public void clear() {
+        for (HudLayer layer : layers) {
+            removeLayer(layer);
+        }
+    }
+
+    // Flushes whatever the vanilla HUD queued on the context first, so immediate buffer draws land on top of it.
+    public void render(DrawContext context) {
+        context.draw();
+        for (HudLayer layer : layers) {
+            layer.render(context);
+        }
+    }
+}
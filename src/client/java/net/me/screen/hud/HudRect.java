@@ -0,0 +1,71 @@
+package net.me.screen.hud;
+
+import net.me.utils.RoundedRectGeometry;
+import net.me.utils.VertexSink;
+
+public class HudRect extends HudElement {
+    private static final float DEFAULT_QUALITY = 10;
+
+    private float width;
+    private float height;
+    private float radius;
+    private int color;
+
+    HudRect(HudLayer layer, float x, float y, float width, float height, int color) {
+        super(layer, x, y);
+        this.width = width;
+        this.height = height;
+        this.color = color;
+    }
+
+    @Override
+    protected boolean isGeometry() {
+        return true;
+    }
+
+    void emit(VertexSink sink) {
+        if (radius > 0) {
+            RoundedRectGeometry.fill(sink, x, y, width, height, radius, DEFAULT_QUALITY, color);
+            return;
+        }
+        float x2 = x + width;
+        float y2 = y + height;
+        sink.vertex(x, y2, color);
+        sink.vertex(x2, y2, color);
+        sink.vertex(x2, y, color);
+        sink.vertex(x2, y, color);
+        sink.vertex(x, y, color);
+        sink.vertex(x, y2, color);
+    }
+
+    public HudRect setSize(double width, double height) {
+        if (this.width != (float) width || this.height != (float) height) {
+            this.width = (float) width;
+            this.height = (float) height;
+            changed();
+        }
+        return this;
+    }
+
+    public HudRect setRadius(double radius) {
+        if (this.radius != (float) radius) {
+            this.radius = (float) radius;
+            changed();
+        }
+        return this;
+    }
+
+    // long so that ARGB literals above 0x7FFFFFFF pass through from scripts.
+    public HudRect setColor(long argb) {
+        int c = (int) argb;
+        if (this.color != c) {
+            this.color = c;
+            changed();
+        }
+        return this;
+    }
+
+    public int getColor() {
+        return color;
+    }
+}
@@ -0,0 +1,68 @@
+package net.me.screen.hud;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.text.Text;
+
+// Glyphs go through the font pipeline every frame; what is retained is the Text instance, rebuilt only on change.
+public class HudText extends HudElement {
+    private String content;
+    private Text text;
+    private int color;
+    private boolean shadow = true;
+    private float scale = 1f;
+
+    HudText(HudLayer layer, float x, float y, String content, int color) {
+        super(layer, x, y);
+        this.content = content;
+        this.text = Text.literal(content);
+        this.color = color;
+    }
+
+    @Override
+    protected boolean isGeometry() {
+        return false;
+    }
+
+    void draw(DrawContext context) {
+        var textRenderer = MinecraftClient.getInstance().textRenderer;
+        if (scale == 1f) {
+            context.drawText(textRenderer, text, (int) x, (int) y, color, shadow);
+            return;
+        }
+        MatrixStack matrices = context.getMatrices();
+        matrices.push();
+        matrices.translate(x, y, 0);
+        matrices.scale(scale, scale, 1f);
+        context.drawText(textRenderer, text, 0, 0, color, shadow);
+        matrices.pop();
+    }
+
+    public HudText setText(String content) {
+        if (!this.content.equals(content)) {
+            this.content = content;
+            this.text = Text.literal(content);
+        }
+        return this;
+    }
+
+    public HudText setColor(long argb) {
+        this.color = (int) argb;
+        return this;
+    }
+
+    public HudText setShadow(boolean shadow) {
+        this.shadow = shadow;
+        return this;
+    }
+
+    public HudText setScale(double scale) {
+        this.scale = (float) scale;
+        return this;
+    }
+
+    public String getText() {
+        return content;
+    }
+}
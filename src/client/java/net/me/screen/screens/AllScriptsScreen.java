@@ -6,29 +6,32 @@ import net.me.screen.component.components.DarkTextFieldWidget;
 import net.me.screen.component.components.ScriptDescriptorToggleWidget;
 import net.me.scripting.ScriptManager;
 import net.me.scripting.module.RunningScript;
-import net.me.scripting.module.ScriptDescriptor;
+import net.me.utils.GUIColors;
+import net.me.utils.Render2DUtils;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.util.Formatting;
 
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class AllScriptsScreen extends MQSScreen {
 
-    private final List<ScriptDescriptor> allScripts;
-    private List<ScriptDescriptor> filteredScripts;
-    private int currentPage = 0;
-    private int totalPages = 0;
-    private static final int ITEMS_PER_PAGE = 4;
+    private static final int VISIBLE_ROWS = 4;
+    private static final int ROW_HEIGHT = 35;
+
+    private ScriptSearchIndex searchIndex;
+    private int[] filtered;
+    private int scrollRow = 0;
     private DarkTextFieldWidget searchTextField;
+    // Fixed pool, rebound to whichever rows are in view; never grows with the number of scripts.
+    private final List<ScriptDescriptorToggleWidget> rowPool = new ArrayList<>(VISIBLE_ROWS);
+    private DarkButtonWidget prevButton;
+    private DarkButtonWidget nextButton;
 
     public AllScriptsScreen() {
         super("My QOL Scripts", 300, 280);
-        this.allScripts = new ArrayList<>(ScriptManager.getInstance().getAvailableScripts());
-        this.allScripts.sort(Comparator.comparing(ScriptDescriptor::moduleName, String.CASE_INSENSITIVE_ORDER));
-        this.filteredScripts = new ArrayList<>(this.allScripts);
+        rebuildIndex();
     }
 
     @Override
@@ -40,19 +43,24 @@ public class AllScriptsScreen extends MQSScreen {
         int navY = this.getMiddlePoint().getY() + 75;
         addPagesButtons(navY);
         addOthersButtons(navY);
+        bindRows();
+    }
+
+    private void rebuildIndex() {
+        this.searchIndex = new ScriptSearchIndex(ScriptManager.getInstance().getAvailableScripts());
+        this.filtered = this.searchIndex.search(this.searchTextField != null ? this.searchTextField.getText() : "");
     }
 
     private void addSearch() {
         if (this.searchTextField == null) {
             this.searchTextField = DarkTextFieldWidget.builder(this.textRenderer).dimensions( this.getMiddlePoint().getX() - 100, this.getMiddlePoint().getY() - 100, 170, 20).placeholder("Search scripts...").build();
             this.searchTextField.setChangedListener(text -> {
-                this.filteredScripts = new ArrayList<>(this.allScripts);
-                filteredScripts.removeIf(script -> !script.moduleName().toLowerCase().contains(text.toLowerCase()));
-                if (!text.isEmpty()) {
-                    currentPage = 0;
-                }
-                this.init();
+                this.filtered = this.searchIndex.search(text);
+                this.scrollRow = 0;
+                bindRows();
             });
+        } else {
+            this.searchTextField.setPosition(this.getMiddlePoint().getX() - 100, this.getMiddlePoint().getY() - 100);
         }
 
         this.addSelectableChild(this.searchTextField);
@@ -63,43 +71,57 @@ public class AllScriptsScreen extends MQSScreen {
     }
 
     private void addScriptsList() {
-        this.totalPages = (int) Math.ceil((double) this.filteredScripts.size() / ITEMS_PER_PAGE);
-        if (this.totalPages == 0) {
-            this.totalPages = 1;
-        }
-
         int listStartX = this.getMiddlePoint().getX() - 100;
         int listStartY = this.getMiddlePoint().getY() - 70;
-        int rowHeight = 35;
 
-        int startIndex = this.currentPage * ITEMS_PER_PAGE;
-        int endIndex = Math.min(startIndex + ITEMS_PER_PAGE, this.filteredScripts.size());
+        rowPool.clear();
+        for (int row = 0; row < VISIBLE_ROWS; row++) {
+            ScriptDescriptorToggleWidget toggleWidget = ScriptDescriptorToggleWidget.builder(null)
+                    .position(listStartX, listStartY + row * ROW_HEIGHT)
+                    .build();
+            rowPool.add(toggleWidget);
+            this.addDrawableChild(toggleWidget);
+        }
+    }
 
-        for (int i = startIndex; i < endIndex; i++) {
-            ScriptDescriptor descriptor = this.filteredScripts.get(i);
+    private void bindRows() {
+        scrollRow = Math.max(0, Math.min(scrollRow, maxScrollRow()));
+        for (int row = 0; row < rowPool.size(); row++) {
+            ScriptDescriptorToggleWidget widget = rowPool.get(row);
+            int index = scrollRow + row;
+            boolean inRange = index < filtered.length;
+            widget.setDescriptor(inRange ? searchIndex.get(filtered[index]) : null);
+            widget.visible = inRange;
+            widget.active = inRange;
+        }
+        if (prevButton != null) prevButton.active = scrollRow > 0;
+        if (nextButton != null) nextButton.active = scrollRow < maxScrollRow();
+    }
 
-            int itemIndexOnPage = i - startIndex;
-            int currentY = listStartY + (itemIndexOnPage * rowHeight);
+    private int maxScrollRow() {
+        return Math.max(0, filtered.length - VISIBLE_ROWS);
+    }
 
-            ScriptDescriptorToggleWidget toggleWidget = ScriptDescriptorToggleWidget.builder(descriptor)
-                    .position(listStartX, currentY)
-                    .build();
-            this.addDrawableChild(toggleWidget);
+    private void scrollBy(int rows) {
+        scrollRow += rows;
+        bindRows();
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        if (verticalAmount != 0 && filtered.length > VISIBLE_ROWS) {
+            scrollBy(verticalAmount > 0 ? -1 : 1);
+            return true;
         }
+        return super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
     }
 
     private void addPagesButtons(int navY) {
-        DarkButtonWidget prevButton = DarkButtonWidget.builder("Previous Page", button -> {
-            this.currentPage--;
-            this.init();
-        }).dimensions(this.getMiddlePoint().getX() - 100, navY, 80, 20).build();
-        prevButton.active = this.currentPage > 0;
-
-        DarkButtonWidget nextButton = DarkButtonWidget.builder("Next Page", button -> {
-            this.currentPage++;
-            this.init();
-        }).dimensions(this.getMiddlePoint().getX() + 20, navY, 80, 20).build();
-        nextButton.active = this.currentPage < this.totalPages - 1;
+        prevButton = DarkButtonWidget.builder("Previous Page", button -> scrollBy(-VISIBLE_ROWS))
+                .dimensions(this.getMiddlePoint().getX() - 100, navY, 80, 20).build();
+
+        nextButton = DarkButtonWidget.builder("Next Page", button -> scrollBy(VISIBLE_ROWS))
+                .dimensions(this.getMiddlePoint().getX() + 20, navY, 80, 20).build();
         this.addDrawableChild(nextButton);
         this.addDrawableChild(prevButton);
     }
@@ -107,13 +129,12 @@ public class AllScriptsScreen extends MQSScreen {
     private void addOthersButtons(int navY) {
         DarkButtonWidget refreshButton = DarkButtonWidget.builder("Refresh", button -> {
             ScriptManager.getInstance().refreshAndReenable();
-            this.currentPage = 0;
-            this.init();
+            this.scrollRow = 0;
+            rebuildIndex();
+            bindRows();
         }).dimensions(this.getMiddlePoint().getX() - 100, navY + 25, 60, 20).build();
 
-        DarkButtonWidget consoleButton = DarkButtonWidget.builder("Console", button -> {
-            // future implementation for console
-        }).dimensions(this.getMiddlePoint().getX() - 35, navY + 25, 70, 20).build();
+        DarkButtonWidget consoleButton = DarkButtonWidget.builder("Console", button -> new ScriptConsoleScreen().open()).dimensions(this.getMiddlePoint().getX() - 35, navY + 25, 70, 20).build();
 
         DarkButtonWidget offButton = DarkButtonWidget.builder("All" + Formatting.RED + " Off" + Formatting.RESET, button -> {
             ScriptManager sm = ScriptManager.getInstance();
@@ -122,8 +143,6 @@ public class AllScriptsScreen extends MQSScreen {
                     .toList();
 
             runningScriptIds.forEach(sm::disableScript);
-
-            this.init();
         }).dimensions(this.getMiddlePoint().getX() + 40, navY + 25, 60, 20).build();
 
         this.addDrawableChild(refreshButton);
@@ -136,15 +155,29 @@ public class AllScriptsScreen extends MQSScreen {
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         super.render(context, mouseX, mouseY, delta);
         this.searchTextField.render(context, mouseX, mouseY, delta);
+        drawScrollBar(context);
         drawPageNumber(context);
     }
 
+    private void drawScrollBar(DrawContext context) {
+        if (filtered.length <= VISIBLE_ROWS) return;
+        int trackX = this.getMiddlePoint().getX() + 104;
+        int trackY = this.getMiddlePoint().getY() - 70;
+        int trackHeight = VISIBLE_ROWS * ROW_HEIGHT - 5;
+        int thumbHeight = Math.max(10, trackHeight * VISIBLE_ROWS / filtered.length);
+        int thumbY = trackY + (trackHeight - thumbHeight) * scrollRow / maxScrollRow();
+        Render2DUtils.drawRect(context, trackX, trackY, 3, trackHeight, GUIColors.DARK_L2.getRGBA());
+        Render2DUtils.drawRect(context, trackX, thumbY, 3, thumbHeight, GUIColors.DARK_L4.getRGBA());
+    }
+
     private void drawPageNumber(DrawContext context) {
         int navY = this.getMiddlePoint().getY() + 75;
         int navCenterX = this.getMiddlePoint().getX();
-        String pageText = (currentPage + 1) + " / " + totalPages;
+        int first = filtered.length == 0 ? 0 : scrollRow + 1;
+        int last = Math.min(scrollRow + VISIBLE_ROWS, filtered.length);
+        String pageText = first + "-" + last + " / " + filtered.length;
         context.drawCenteredTextWithShadow(this.textRenderer, pageText, navCenterX, navY + 6, Color.WHITE.getRGB());
     }
 
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package net.me.screen.screens;
+
+import net.me.screen.MQSScreen;
+import net.me.screen.component.components.DarkButtonWidget;
+import net.me.scripting.logging.LineAssembler;
+import net.me.scripting.logging.LogEntry;
+import net.me.scripting.logging.LogRing;
+import net.me.scripting.logging.ScriptLogs;
+import net.me.utils.GUIColors;
+import net.me.utils.Render2DUtils;
+import net.minecraft.client.gui.DrawContext;
+
+import java.util.List;
+
+public class ScriptConsoleScreen extends MQSScreen {
+
+    private static final int MAX_LINES = 1000;
+    private static final int LINE_HEIGHT = 10;
+    private static final int AREA_WIDTH = 280;
+    private static final int AREA_HEIGHT = 170;
+    private static final int VISIBLE_LINES = AREA_HEIGHT / LINE_HEIGHT;
+
+    // Lines already formatted by the assembler, kept in a fixed ring; only the visible window is drawn.
+    private final String[] lines = new String[MAX_LINES];
+    private int lineStart = 0;
+    private int lineCount = 0;
+    private int scrollFromBottom = 0;
+
+    private final LineAssembler assembler = new LineAssembler((time, text) -> pushLine(text));
+    private final LogRing.Reader reader = new LogRing.Reader() {
+        @Override
+        public void entry(LogEntry entry) {
+            assembler.entry(entry);
+        }
+
+        @Override
+        public void dropped(long count) {
+            assembler.dropped(count);
+        }
+    };
+
+    private List<String> owners = List.of();
+    private String owner;
+    private LogRing ring;
+    private long cursor;
+
+    public ScriptConsoleScreen() {
+        super("Console", 300, 280);
+        this.owners = ScriptLogs.getInstance().owners();
+        if (!owners.isEmpty()) select(owners.getFirst());
+    }
+
+    @Override
+    public void init() {
+        this.clearChildren();
+        super.init();
+        int midX = this.getMiddlePoint().getX();
+        int midY = this.getMiddlePoint().getY();
+
+        this.addDrawableChild(DarkButtonWidget.builder("<", button -> cycle(-1))
+                .dimensions(midX - 140, midY - 100, 20, 20).build());
+        this.addDrawableChild(DarkButtonWidget.builder(">", button -> cycle(1))
+                .dimensions(midX + 120, midY - 100, 20, 20).build());
+
+        this.addDrawableChild(DarkButtonWidget.builder("Clear", button -> clearView())
+                .dimensions(midX - 140, midY + 105, 60, 20).build());
+        this.addDrawableChild(DarkButtonWidget.builder("Back", button -> new AllScriptsScreen().open())
+                .dimensions(midX + 80, midY + 105, 60, 20).build());
+    }
+
+    private void cycle(int direction) {
+        this.owners = ScriptLogs.getInstance().owners();
+        if (owners.isEmpty()) return;
+        int index = owner == null ? -1 : owners.indexOf(owner);
+        int next = Math.floorMod(index + direction, owners.size());
+        select(owners.get(next));
+    }
+
+    private void select(String owner) {
+        this.owner = owner;
+        this.ring = ScriptLogs.getInstance().find(owner);
+        this.cursor = ring != null ? ring.oldest() : 0;
+        clearView();
+    }
+
+    private void clearView() {
+        lineStart = 0;
+        lineCount = 0;
+        scrollFromBottom = 0;
+    }
+
+    private void pushLine(String text) {
+        if (lineCount < MAX_LINES) {
+            lines[(lineStart + lineCount) % MAX_LINES] = text;
+            lineCount++;
+        } else {
+            lines[lineStart] = text;
+            lineStart = (lineStart + 1) % MAX_LINES;
+        }
+        // Keep the view anchored when scrolled up, unless it is already at the oldest line.
+        if (scrollFromBottom > 0) scrollFromBottom = Math.min(scrollFromBottom + 1, maxScroll());
+    }
+
+    private int maxScroll() {
+        return Math.max(0, lineCount - VISIBLE_LINES);
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double horizontalAmount, double verticalAmount) {
+        if (verticalAmount != 0) {
+            int step = verticalAmount > 0 ? 3 : -3;
+            scrollFromBottom = Math.max(0, Math.min(scrollFromBottom + step, maxScroll()));
+            return true;
+        }
+        return super.mouseScrolled(mouseX, mouseY, horizontalAmount, verticalAmount);
+    }
+
+    @Override
+    public void render(DrawContext context, int mouseX, int mouseY, float delta) {
+        if (ring == null && owner == null) {
+            this.owners = ScriptLogs.getInstance().owners();
+            if (!owners.isEmpty()) select(owners.getFirst());
+        }
+        if (ring != null) cursor = ring.read(cursor, reader);
+
+        super.render(context, mouseX, mouseY, delta);
+        int midX = this.getMiddlePoint().getX();
+        int midY = this.getMiddlePoint().getY();
+        String label = owner != null ? owner : "No script output yet";
+        context.drawCenteredTextWithShadow(this.textRenderer, this.textRenderer.trimToWidth(label, 220), midX, midY - 94, GUIColors.WHITE.getRGBA());
+        drawLines(context, midX - AREA_WIDTH / 2, midY - 75);
+    }
+
+    private void drawLines(DrawContext context, int x, int y) {
+        Render2DUtils.drawRect(context, x, y, AREA_WIDTH, AREA_HEIGHT, GUIColors.DARK_L1.getRGBA());
+        int shown = Math.min(VISIBLE_LINES, lineCount);
+        int first = lineCount - shown - scrollFromBottom;
+        for (int i = 0; i < shown; i++) {
+            String line = lines[(lineStart + first + i) % MAX_LINES];
+            String visible = this.textRenderer.trimToWidth(line, AREA_WIDTH - 6);
+            context.drawText(this.textRenderer, visible, x + 3, y + 2 + i * LINE_HEIGHT, GUIColors.WHITE.getRGBA(), false);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package net.me.screen.screens;
+
+import net.me.scripting.module.ScriptDescriptor;
+
+import java.util.*;
+
+// Case-insensitive substring search over module names. Names are lowercased once; queries of three or more
+// characters start from the intersection of trigram postings, and a query that extends the previous one only
+// re-checks the previous matches.
+public final class ScriptSearchIndex {
+    private static final int[] NONE = new int[0];
+
+    private final List<ScriptDescriptor> entries;
+    private final String[] lowerNames;
+    private final Map<Long, int[]> postings;
+    private final int[] all;
+
+    private String lastQuery;
+    private int[] lastResult;
+
+    public ScriptSearchIndex(Collection<ScriptDescriptor> descriptors) {
+        List<ScriptDescriptor> sorted = new ArrayList<>(descriptors);
+        sorted.sort(Comparator.comparing(ScriptDescriptor::moduleName, String.CASE_INSENSITIVE_ORDER));
+        this.entries = List.copyOf(sorted);
+        this.lowerNames = new String[entries.size()];
+        this.all = new int[entries.size()];
+
+        Map<Long, List<Integer>> building = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            all[i] = i;
+            String lower = entries.get(i).moduleName().toLowerCase(Locale.ROOT);
+            lowerNames[i] = lower;
+            Set<Long> seen = new HashSet<>();
+            for (int j = 0; j + 3 <= lower.length(); j++) {
+                long gram = trigram(lower, j);
+                if (seen.add(gram)) {
+                    building.computeIfAbsent(gram, k -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        Map<Long, int[]> frozen = new HashMap<>(building.size() * 2);
+        building.forEach((gram, ids) -> frozen.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        this.postings = frozen;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public ScriptDescriptor get(int index) {
+        return entries.get(index);
+    }
+
+    // Returns ascending entry indices whose module name contains the query.
+    public int[] search(String query) {
+        String q = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            lastQuery = q;
+            lastResult = all;
+            return all;
+        }
+
+        int[] candidates;
+        if (lastQuery != null && q.contains(lastQuery)) {
+            candidates = lastResult;
+        } else if (q.length() >= 3) {
+            candidates = trigramCandidates(q);
+        } else {
+            candidates = all;
+        }
+
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int id : candidates) {
+            if (lowerNames[id].contains(q)) {
+                matches[count++] = id;
+            }
+        }
+        int[] result = count == matches.length ? matches : Arrays.copyOf(matches, count);
+        lastQuery = q;
+        lastResult = result;
+        return result;
+    }
+
+    private int[] trigramCandidates(String q) {
+        int[] current = null;
+        for (int j = 0; j + 3 <= q.length(); j++) {
+            int[] list = postings.get(trigram(q, j));
+            if (list == null) return NONE;
+            current = current == null ? list : intersect(current, list);
+            if (current.length == 0) return NONE;
+        }
+        return current;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long trigram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+}
@@ -1,12 +1,22 @@
 package net.me.scripting;
 
 import net.me.Main;
+import net.me.screen.hud.HudManager;
+import net.me.scripting.async.ScriptScheduler;
+import net.me.scripting.buffers.SharedBufferRegistry;
+import net.me.scripting.channels.ChannelRegistry;
+import net.me.scripting.diagnostics.StartupTracer;
 import net.me.scripting.engine.ScriptContextFactory;
 import net.me.scripting.engine.ScriptLoader;
 import net.me.scripting.engine.ScriptingClassResolver;
+import net.me.scripting.events.GameEvents;
+import net.me.scripting.metrics.ScriptingMetrics;
 import net.me.scripting.module.RunningScript;
 import net.me.scripting.module.ScriptDescriptor;
+import net.me.scripting.module.ScriptScope;
+import net.me.scripting.storage.StorageManager;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Value;
 
 import java.io.IOException;
@@ -23,6 +33,8 @@ public class ScriptManager {
     private ScriptContextFactory contextFactory;
     private ScriptLoader scriptLoader;
     private Context scriptContext;
+    private ScriptScheduler scheduler;
+    private final ChannelRegistry channels = new ChannelRegistry();
 
     private final ThreadLocal<Map<String, Value>> perFileExports = new ThreadLocal<>();
 
@@ -38,14 +50,41 @@ public class ScriptManager {
         ensureScriptDirectory();
         ScriptingClassResolver classResolver = new ScriptingClassResolver();
         classResolver.init();
+        ScriptingMetrics.bindWrapperRegistry(classResolver.getWrapperRegistry());
+        ScriptingMetrics.registerJmx();
         this.contextFactory = new ScriptContextFactory(classResolver);
         this.scriptLoader = new ScriptLoader();
-        this.scriptContext = this.contextFactory.createContext(perFileExports);
+        this.scheduler = new ScriptScheduler();
+        this.scriptContext = this.contextFactory.createContext(perFileExports, scheduler, channels);
         discoverScripts();
     }
 
-    private void refreshScriptContext() {
-        this.scriptContext = this.contextFactory.createContext(perFileExports);
+    private Context refreshScriptContext() {
+        Context previous = this.scriptContext;
+        if (scheduler != null) scheduler.cancelAll();
+        GameEvents.clearAll();
+        HudManager.getInstance().clear();
+        channels.clear();
+        SharedBufferRegistry.getInstance().clear();
+        this.scheduler = new ScriptScheduler();
+        this.scriptContext = this.contextFactory.createContext(perFileExports, scheduler, channels);
+        return previous;
+    }
+
+    private void closeContext(Context context) {
+        if (context == null) return;
+        try {
+            context.close();
+        } catch (Exception e) {
+            Main.LOGGER.warn("Failed to close previous script context: {}", e.getMessage());
+        } finally {
+            ScriptingMetrics.contextClosed();
+        }
+    }
+
+    public void tick() {
+        if (scheduler != null) scheduler.pump();
+        StorageManager.getInstance().tick();
     }
 
     public void enableAllScripts() {
@@ -56,10 +95,12 @@ public class ScriptManager {
     }
 
     public void refreshAndReenable() {
-        refreshScriptContext();
+        Context previousContext = refreshScriptContext();
         Set<String> previouslyRunningIds = new HashSet<>(runningScripts.keySet());
 
         new ArrayList<>(previouslyRunningIds).forEach(this::disableScript);
+        // onDisable hooks still run in the old context, so it can only be closed once they are done.
+        closeContext(previousContext);
 
         discoverScripts();
 
@@ -95,10 +136,12 @@ public class ScriptManager {
     }
 
     private void discoverModulesInFile(Path path) {
-        Map<String, Value> discoveredModules = scriptLoader.loadModules(path, this.scriptContext, perFileExports);
-        for (Map.Entry<String, Value> entry : discoveredModules.entrySet()) {
-            ScriptDescriptor descriptor = new ScriptDescriptor(path, entry.getKey());
-            availableScripts.put(descriptor.getId(), descriptor);
+        try (var span = StartupTracer.begin("scripts", "discoverFile", path)) {
+            Map<String, Value> discoveredModules = scriptLoader.loadModules(path, this.scriptContext, perFileExports);
+            for (Map.Entry<String, Value> entry : discoveredModules.entrySet()) {
+                ScriptDescriptor descriptor = new ScriptDescriptor(path, entry.getKey());
+                availableScripts.put(descriptor.getId(), descriptor);
+            }
         }
     }
 
@@ -113,14 +156,20 @@ public class ScriptManager {
             return;
         }
 
-        try {
+        try (var span = StartupTracer.begin("scripts", "enableScript", scriptId)) {
             Map<String, Value> fileExports = scriptLoader.loadModules(descriptor.path(), this.scriptContext, perFileExports);
             Value scriptClass = fileExports.get(descriptor.moduleName());
 
             if (scriptClass == null || !scriptClass.canInstantiate()) {
                 throw new IllegalStateException("Module '" + descriptor.moduleName() + "' was not found or is not an instantiable class after loading. Did you use exportModule()?");
             }
-            Value jsInstance = scriptClass.newInstance();
+            Value jsInstance;
+            String previousScope = ScriptScope.enter(scriptId);
+            try {
+                jsInstance = scriptClass.newInstance();
+            } finally {
+                ScriptScope.exit(previousScope);
+            }
             RunningScript runningScript = new RunningScript(descriptor, jsInstance);
 
             runningScripts.put(scriptId, runningScript);
@@ -135,6 +184,10 @@ public class ScriptManager {
         RunningScript script = runningScripts.remove(scriptId);
         if (script != null) {
             script.onDisable();
+            scheduler.cancelOwnedBy(scriptId);
+            GameEvents.removeOwnedBy(scriptId);
+            HudManager.getInstance().removeOwnedBy(scriptId);
+            SharedBufferRegistry.getInstance().removeOwnedBy(scriptId);
             Main.LOGGER.info("Disabled script: {}", script.getName());
         }
     }
@@ -150,4 +203,20 @@ public class ScriptManager {
     public Collection<RunningScript> getRunningScripts() {
         return Collections.unmodifiableCollection(runningScripts.values());
     }
+
+    public ScriptScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public ChannelRegistry getChannels() {
+        return channels;
+    }
+
+    public Context getScriptContext() {
+        return scriptContext;
+    }
+
+    public Engine getEngine() {
+        return contextFactory.getEngine();
+    }
 }
\ No newline at end of file
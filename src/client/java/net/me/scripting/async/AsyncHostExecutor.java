@@ -0,0 +1,135 @@
+package net.me.scripting.async;
+
+import net.me.scripting.engine.ScriptIntrinsics;
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.LatencyHistogram;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.me.scripting.module.ScriptScope;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs blocking host operations on virtual threads and settles the returned promise on the context thread
+// through the scheduler. Admission and bookkeeping happen only on the context thread, so no locks are needed.
+public class AsyncHostExecutor {
+    private static final ExecutorService WORKERS = Executors.newVirtualThreadPerTaskExecutor();
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+
+    private static final Counter SUBMITTED = MetricsRegistry.getInstance().counter("async.submitted");
+    private static final Counter REJECTED = MetricsRegistry.getInstance().counter("async.rejected");
+    private static final Counter FAILED = MetricsRegistry.getInstance().counter("async.failed");
+    private static final LatencyHistogram LATENCY = MetricsRegistry.getInstance().histogram("async.op.latency");
+
+    static {
+        MetricsRegistry.getInstance().gauge("async.inFlight", IN_FLIGHT::get);
+    }
+
+    private final ScriptScheduler scheduler;
+    private final ScriptIntrinsics intrinsics;
+    private final int maxConcurrentPerScript;
+    private final int maxQueuedPerScript;
+    private final Map<String, OwnerState> owners = new HashMap<>();
+
+    public AsyncHostExecutor(ScriptScheduler scheduler, ScriptIntrinsics intrinsics) {
+        this(scheduler, intrinsics,
+                Integer.getInteger("mqs.async.maxConcurrent", 4),
+                Integer.getInteger("mqs.async.maxQueued", 64));
+    }
+
+    public AsyncHostExecutor(ScriptScheduler scheduler, ScriptIntrinsics intrinsics, int maxConcurrentPerScript, int maxQueuedPerScript) {
+        this.scheduler = scheduler;
+        this.intrinsics = intrinsics;
+        this.maxConcurrentPerScript = Math.max(1, maxConcurrentPerScript);
+        this.maxQueuedPerScript = Math.max(0, maxQueuedPerScript);
+        scheduler.addCancelHook(this::cancelOwnedBy);
+    }
+
+    // Returns a promise. Once a script has maxConcurrent operations running, further ones wait in its queue;
+    // when that queue is full the promise is rejected immediately instead of piling up work.
+    public Object submit(String operation, Callable<?> task) {
+        String owner = ScriptScope.current();
+        String key = owner != null ? owner : "";
+        ScriptIntrinsics.Deferred deferred = intrinsics.newDeferred();
+        OwnerState state = owners.computeIfAbsent(key, k -> new OwnerState());
+        Pending pending = new Pending(operation, task, deferred, owner, state);
+
+        if (state.running < maxConcurrentPerScript) {
+            start(pending);
+        } else if (state.waiting.size() < maxQueuedPerScript) {
+            state.waiting.add(pending);
+        } else {
+            REJECTED.increment();
+            deferred.reject().executeVoid(intrinsics.newError(
+                    "Too many pending async operations (" + (state.running + state.waiting.size()) + ") for " + key));
+        }
+        return deferred.promise();
+    }
+
+    private void start(Pending pending) {
+        SUBMITTED.increment();
+        pending.state.running++;
+        IN_FLIGHT.incrementAndGet();
+        long startNanos = System.nanoTime();
+        WORKERS.execute(() -> {
+            Object result = null;
+            Throwable error = null;
+            try {
+                result = pending.task.call();
+            } catch (Throwable t) {
+                error = t;
+            }
+            LATENCY.record(System.nanoTime() - startNanos);
+            IN_FLIGHT.decrementAndGet();
+            Object finalResult = result;
+            Throwable finalError = error;
+            scheduler.post(pending.owner, () -> complete(pending, finalResult, finalError));
+        });
+    }
+
+    private void complete(Pending pending, Object result, Throwable error) {
+        OwnerState state = pending.state;
+        state.running--;
+        if (!state.cancelled) {
+            if (error != null) {
+                FAILED.increment();
+                pending.deferred.reject().executeVoid(intrinsics.newError(pending.operation + " failed: " + error));
+            } else {
+                pending.deferred.resolve().executeVoid(result);
+            }
+            Pending next = state.waiting.poll();
+            if (next != null) {
+                start(next);
+            }
+        }
+    }
+
+    // Queued operations are dropped; results of running ones are discarded when they arrive.
+    private void cancelOwnedBy(String owner) {
+        if (owner == null) {
+            owners.values().forEach(OwnerState::cancel);
+            owners.clear();
+            return;
+        }
+        OwnerState state = owners.remove(owner);
+        if (state != null) state.cancel();
+    }
+
+    private static final class OwnerState {
+        final ArrayDeque<Pending> waiting = new ArrayDeque<>();
+        int running;
+        boolean cancelled;
+
+        void cancel() {
+            cancelled = true;
+            waiting.clear();
+        }
+    }
+
+    private record Pending(String operation, Callable<?> task, ScriptIntrinsics.Deferred deferred, String owner, OwnerState state) {
+    }
+}
@@ -0,0 +1,188 @@
+package net.me.scripting.async;
+
+import net.me.Main;
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.LatencyHistogram;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.me.scripting.module.ScriptScope;
+import org.graalvm.polyglot.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Timers and deferred jobs for one script context, pumped once per client tick on the context's thread.
+// GraalJS drains promise microtasks whenever a host-to-guest call returns, so each callback run here
+// also settles the promise reactions it triggers.
+public class ScriptScheduler {
+    public static final long MILLIS_PER_TICK = 50;
+    private static final int WHEEL_SLOTS = 512;
+    private static final long DEFAULT_BUDGET_NANOS = Long.getLong("mqs.scheduler.budgetMs", 2) * 1_000_000L;
+
+    private static final Counter TIMERS_FIRED = MetricsRegistry.getInstance().counter("scheduler.timers.fired");
+    private static final Counter JOBS_RUN = MetricsRegistry.getInstance().counter("scheduler.jobs.run");
+    private static final Counter BUDGET_EXCEEDED = MetricsRegistry.getInstance().counter("scheduler.budget.exceeded");
+    private static final LatencyHistogram PUMP_LATENCY = MetricsRegistry.getInstance().histogram("scheduler.pump.latency");
+
+    private final TimerWheel<Task> wheel = new TimerWheel<>(WHEEL_SLOTS);
+    private final Map<Long, Task> timers = new HashMap<>();
+    private final ArrayDeque<Task> ready = new ArrayDeque<>();
+    private final ConcurrentLinkedQueue<Task> inbox = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<String>> cancelHooks = new ArrayList<>();
+    private final long budgetNanos;
+    private long nextId = 1;
+
+    public ScriptScheduler() {
+        this(DEFAULT_BUDGET_NANOS);
+    }
+
+    public ScriptScheduler(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        MetricsRegistry.getInstance().gauge("scheduler.pending", this::pendingCount);
+    }
+
+    public static long millisToTicks(double millis) {
+        if (!(millis > 0)) return 0;
+        return (long) Math.ceil(millis / MILLIS_PER_TICK);
+    }
+
+    public long schedule(Value callback, Object[] args, long delayTicks, long periodTicks) {
+        if (callback == null || !callback.canExecute()) {
+            throw new IllegalArgumentException("Timer callback must be a function.");
+        }
+        Task task = new Task(nextId++, ScriptScope.current(), callback, args, periodTicks);
+        task.timeout = wheel.schedule(task, delayTicks);
+        timers.put(task.id, task);
+        return task.id;
+    }
+
+    // Jobs run on the next pump, ahead of timers that become due in the same tick.
+    public void enqueue(Runnable job) {
+        ready.add(new Task(0, ScriptScope.current(), job));
+    }
+
+    // Thread-safe: the only entry point for other threads, e.g. I/O completions handing results back.
+    public void post(String owner, Runnable job) {
+        inbox.add(new Task(0, owner, job));
+    }
+
+    // Hooks receive the owner whose work is cancelled, or null when everything is.
+    public void addCancelHook(Consumer<String> hook) {
+        cancelHooks.add(hook);
+    }
+
+    public boolean cancel(long id) {
+        Task task = timers.remove(id);
+        if (task == null) return false;
+        task.cancelled = true;
+        if (task.timeout != null) task.timeout.cancel();
+        return true;
+    }
+
+    public void cancelOwnedBy(String owner) {
+        Iterator<Task> it = timers.values().iterator();
+        while (it.hasNext()) {
+            Task task = it.next();
+            if (owner.equals(task.owner)) {
+                task.cancelled = true;
+                if (task.timeout != null) task.timeout.cancel();
+                it.remove();
+            }
+        }
+        ready.removeIf(task -> owner.equals(task.owner));
+        cancelHooks.forEach(hook -> hook.accept(owner));
+    }
+
+    public void cancelAll() {
+        timers.clear();
+        wheel.clear();
+        ready.clear();
+        inbox.clear();
+        cancelHooks.forEach(hook -> hook.accept(null));
+    }
+
+    public int pendingCount() {
+        return timers.size() + ready.size() + inbox.size();
+    }
+
+    // Advances the wheel one tick, then runs ready work until the budget is spent. At least one task
+    // always runs so a single slow callback cannot starve the queue; leftovers carry over to the next tick.
+    public void pump() {
+        long start = System.nanoTime();
+        Task posted;
+        while ((posted = inbox.poll()) != null) {
+            ready.add(posted);
+        }
+        wheel.advance(ready::add);
+        long deadline = start + budgetNanos;
+        boolean first = true;
+        Task task;
+        while ((task = ready.poll()) != null) {
+            if (!first && System.nanoTime() >= deadline) {
+                ready.addFirst(task);
+                BUDGET_EXCEEDED.increment();
+                break;
+            }
+            first = false;
+            run(task);
+        }
+        PUMP_LATENCY.record(System.nanoTime() - start);
+    }
+
+    private void run(Task task) {
+        if (task.cancelled) return;
+        String previous = ScriptScope.enter(task.owner);
+        try {
+            if (task.job != null) {
+                JOBS_RUN.increment();
+                task.job.run();
+                return;
+            }
+            TIMERS_FIRED.increment();
+            if (task.periodTicks > 0) {
+                task.timeout = wheel.schedule(task, task.periodTicks - 1);
+            } else {
+                timers.remove(task.id);
+            }
+            task.callback.executeVoid(task.args);
+        } catch (Exception e) {
+            Main.LOGGER.error("Error in scheduled callback of script '{}': {}", task.owner, e.getMessage(), e);
+        } finally {
+            ScriptScope.exit(previous);
+        }
+    }
+
+    private static final class Task {
+        final long id;
+        final String owner;
+        final Value callback;
+        final Object[] args;
+        final long periodTicks;
+        final Runnable job;
+        TimerWheel.Timeout<Task> timeout;
+        boolean cancelled;
+
+        Task(long id, String owner, Value callback, Object[] args, long periodTicks) {
+            this.id = id;
+            this.owner = owner;
+            this.callback = callback;
+            this.args = args;
+            this.periodTicks = periodTicks;
+            this.job = null;
+        }
+
+        Task(long id, String owner, Runnable job) {
+            this.id = id;
+            this.owner = owner;
+            this.callback = null;
+            this.args = null;
+            this.periodTicks = 0;
+            this.job = job;
+        }
+    }
+}
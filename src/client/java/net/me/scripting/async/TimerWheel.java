@@ -0,0 +1,121 @@
+package net.me.scripting.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hashed timing wheel with one slot per tick. Deadlines beyond one revolution carry a round count.
+// Not thread-safe: owned by the thread that pumps the scheduler.
+public final class TimerWheel<T> {
+    private final Timeout<T>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int slotCount) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.slots = (Timeout<T>[]) new Timeout[slotCount];
+        this.mask = slotCount - 1;
+    }
+
+    // A delay of 0 fires on the next advance().
+    public Timeout<T> schedule(T payload, long delayTicks) {
+        long delay = Math.max(0, delayTicks);
+        Timeout<T> timeout = new Timeout<>(this, payload, delay / slots.length);
+        int index = (int) ((currentTick + delay) & mask);
+        timeout.next = slots[index];
+        if (slots[index] != null) {
+            slots[index].prev = timeout;
+        }
+        slots[index] = timeout;
+        timeout.slot = index;
+        size++;
+        return timeout;
+    }
+
+    // Expired payloads are handed out after the tick has moved on, so callbacks may freely schedule or cancel.
+    public void advance(Consumer<T> expired) {
+        int index = (int) (currentTick & mask);
+        List<T> fired = null;
+        Timeout<T> t = slots[index];
+        while (t != null) {
+            Timeout<T> next = t.next;
+            if (t.rounds <= 0) {
+                unlink(t);
+                if (fired == null) fired = new ArrayList<>();
+                fired.add(t.payload);
+            } else {
+                t.rounds--;
+            }
+            t = next;
+        }
+        currentTick++;
+        if (fired != null) {
+            fired.forEach(expired);
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            for (Timeout<T> t = slots[i]; t != null; t = t.next) {
+                t.slot = -1;
+            }
+            slots[i] = null;
+        }
+        size = 0;
+    }
+
+    private void unlink(Timeout<T> t) {
+        if (t.slot < 0) return;
+        if (t.prev != null) {
+            t.prev.next = t.next;
+        } else {
+            slots[t.slot] = t.next;
+        }
+        if (t.next != null) {
+            t.next.prev = t.prev;
+        }
+        t.prev = null;
+        t.next = null;
+        t.slot = -1;
+        size--;
+    }
+
+    public static final class Timeout<T> {
+        private final TimerWheel<T> wheel;
+        private final T payload;
+        private long rounds;
+        private int slot = -1;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(TimerWheel<T> wheel, T payload, long rounds) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.rounds = rounds;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public boolean isPending() {
+            return slot >= 0;
+        }
+
+        public void cancel() {
+            wheel.unlink(this);
+        }
+    }
+}
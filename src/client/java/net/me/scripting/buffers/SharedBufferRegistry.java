@@ -0,0 +1,120 @@
+package net.me.scripting.buffers;
+
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.MetricsRegistry;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Byte buffers in native order that scripts see as ArrayBuffers. Named buffers are shared: every script that opens
+// the name gets a view of the same memory, and the buffer is dropped once its last owner releases it or is disabled.
+// Allocated bytes are capped; they are returned once a buffer becomes unreachable, so views still held by a
+// script keep counting against the cap.
+public final class SharedBufferRegistry {
+    private static final SharedBufferRegistry INSTANCE = new SharedBufferRegistry();
+    private static final long MAX_BYTES = Long.getLong("mqs.buffers.maxBytes", 256L << 20);
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+    private static final Counter ALLOCATIONS = REGISTRY.counter("buffers.allocations");
+
+    private final Map<String, Entry> named = new ConcurrentHashMap<>();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    private SharedBufferRegistry() {
+        REGISTRY.gauge("buffers.bytes", allocatedBytes::get);
+        REGISTRY.gauge("buffers.named", named::size);
+    }
+
+    public static SharedBufferRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public ByteBuffer allocate(int byteLength, boolean direct) {
+        if (byteLength <= 0) throw new IllegalArgumentException("Buffer size must be positive, got " + byteLength);
+        long after = allocatedBytes.addAndGet(byteLength);
+        if (after > MAX_BYTES) {
+            allocatedBytes.addAndGet(-byteLength);
+            throw new IllegalStateException("Shared buffers would exceed " + MAX_BYTES + " bytes (" + (after - byteLength) + " in use)");
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = direct ? ByteBuffer.allocateDirect(byteLength) : ByteBuffer.allocate(byteLength);
+        } catch (OutOfMemoryError e) {
+            allocatedBytes.addAndGet(-byteLength);
+            throw e;
+        }
+        buffer.order(ByteOrder.nativeOrder());
+        // Views share the backing memory, not the buffer object, so track whatever they keep alive.
+        Object backing = direct ? buffer : buffer.array();
+        CLEANER.register(backing, () -> allocatedBytes.addAndGet(-byteLength));
+        ALLOCATIONS.increment();
+        return buffer;
+    }
+
+    // Returns the buffer already registered under the name, or allocates it. Reopening with a different size or
+    // storage kind is an error rather than a silent reinterpretation.
+    public ByteBuffer open(String name, int byteLength, boolean direct, String owner) {
+        Entry entry = named.compute(name, (key, existing) -> {
+            if (existing == null) return new Entry(allocate(byteLength, direct));
+            if (existing.buffer.capacity() != byteLength || existing.buffer.isDirect() != direct) {
+                throw new IllegalStateException("Shared buffer '" + name + "' already exists with " + existing.buffer.capacity()
+                        + " bytes (" + (existing.buffer.isDirect() ? "direct" : "heap") + ")");
+            }
+            return existing;
+        });
+        if (owner != null) entry.addOwner(owner);
+        return entry.buffer.duplicate().order(ByteOrder.nativeOrder());
+    }
+
+    public boolean release(String name, String owner) {
+        Entry entry = named.get(name);
+        if (entry == null) return false;
+        if (owner == null || entry.removeOwner(owner)) {
+            named.remove(name, entry);
+        }
+        return true;
+    }
+
+    public void removeOwnedBy(String owner) {
+        named.forEach((name, entry) -> {
+            if (entry.removeOwner(owner)) named.remove(name, entry);
+        });
+    }
+
+    public List<String> names() {
+        List<String> names = new ArrayList<>(named.keySet());
+        names.sort(null);
+        return names;
+    }
+
+    public void clear() {
+        named.clear();
+    }
+
+    private static final class Entry {
+        final ByteBuffer buffer;
+        private final Set<String> owners = new HashSet<>();
+
+        Entry(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        synchronized void addOwner(String owner) {
+            owners.add(owner);
+        }
+
+        // True when the entry had owners and this removed the last one.
+        synchronized boolean removeOwner(String owner) {
+            return owners.remove(owner) && owners.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package net.me.scripting.channels;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Named channels shared by every script context the manager owns; safe to use from any thread.
+public final class ChannelRegistry {
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_SLOT_SIZE = 256;
+
+    private final Map<String, MessageChannel> channels = new ConcurrentHashMap<>();
+
+    // Returns the existing channel when the name is taken, as long as it was opened with the same shape.
+    public MessageChannel open(String name, MessageChannel.Mode mode, int capacity, int slotSize) {
+        MessageChannel channel = channels.computeIfAbsent(name, n -> MessageChannel.create(n, mode, capacity, slotSize));
+        if (channel.mode() != mode || channel.capacity() != capacity || channel.slotSize() != slotSize) {
+            throw new IllegalStateException("Channel '" + name + "' is already open as " + channel.mode()
+                    + " with " + channel.capacity() + " slots of " + channel.slotSize() + " bytes");
+        }
+        return channel;
+    }
+
+    public MessageChannel get(String name) {
+        return channels.get(name);
+    }
+
+    public boolean close(String name) {
+        return channels.remove(name) != null;
+    }
+
+    public List<String> names() {
+        List<String> names = new ArrayList<>(channels.keySet());
+        names.sort(null);
+        return names;
+    }
+
+    public void clear() {
+        channels.clear();
+    }
+}
@@ -0,0 +1,119 @@
+package net.me.scripting.channels;
+
+import org.graalvm.polyglot.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed ring of fixed-size slots in one direct buffer. Subclasses only decide how a slot is claimed and
+// published; encoding happens in place, so sending allocates nothing.
+public abstract sealed class MessageChannel permits SpscChannel, MpscChannel {
+    public static final Object EMPTY = new Object();
+
+    private final String name;
+    protected final int capacity;
+    protected final int mask;
+    private final int slotSize;
+    private final ByteBuffer slots;
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicReference<Thread> producer = new AtomicReference<>();
+    private final AtomicReference<Thread> consumer = new AtomicReference<>();
+
+    protected MessageChannel(String name, int capacity, int slotSize) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Channel capacity must be a power of two, got " + capacity);
+        }
+        if (slotSize < 16) throw new IllegalArgumentException("Channel slot size must be at least 16 bytes, got " + slotSize);
+        if ((long) capacity * slotSize > Integer.MAX_VALUE) throw new IllegalArgumentException("Channel '" + name + "' is too large");
+        this.name = name;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slotSize = slotSize;
+        this.slots = ByteBuffer.allocateDirect(capacity * slotSize).order(ByteOrder.nativeOrder());
+    }
+
+    public static MessageChannel create(String name, Mode mode, int capacity, int slotSize) {
+        return switch (mode) {
+            case SPSC -> new SpscChannel(name, capacity, slotSize);
+            case MPSC -> new MpscChannel(name, capacity, slotSize);
+        };
+    }
+
+    // Returns false when the channel is full; throws when the message cannot be encoded into one slot.
+    public boolean offer(Value message) {
+        if (singleProducer()) bind(producer, "producer");
+        int size = MessageCodec.encodedSize(message);
+        if (size > slotSize) {
+            throw new IllegalArgumentException("Message of " + size + " bytes does not fit channel '" + name + "' slots of " + slotSize + " bytes");
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            rejected.increment();
+            return false;
+        }
+        MessageCodec.encode(message, slots, slotOffset(sequence));
+        publish(sequence);
+        return true;
+    }
+
+    // Returns EMPTY when nothing is waiting. Only one thread may receive from a channel; it is bound on first use.
+    public Object poll() {
+        bind(consumer, "consumer");
+        long sequence = nextReadable();
+        if (sequence < 0) return EMPTY;
+        Object message = MessageCodec.decode(slots, slotOffset(sequence));
+        release(sequence);
+        return message;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int slotSize() {
+        return slotSize;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public abstract Mode mode();
+
+    protected abstract boolean singleProducer();
+
+    public abstract int size();
+
+    protected abstract long claim();
+
+    protected abstract void publish(long sequence);
+
+    protected abstract long nextReadable();
+
+    protected abstract void release(long sequence);
+
+    // The ring indices are only safe for the one thread on that side, so a second thread is rejected instead of
+    // corrupting them. A bound thread that has terminated hands the role over.
+    private void bind(AtomicReference<Thread> owner, String role) {
+        Thread current = Thread.currentThread();
+        Thread bound = owner.get();
+        if (bound == current) return;
+        if ((bound == null || !bound.isAlive()) && owner.compareAndSet(bound, current)) return;
+        throw new IllegalStateException("Channel '" + name + "' is " + mode() + " and its " + role
+                + " is already thread '" + owner.get().getName() + "'");
+    }
+
+    private int slotOffset(long sequence) {
+        return (int) (sequence & mask) * slotSize;
+    }
+
+    public enum Mode {
+        SPSC, MPSC
+    }
+}
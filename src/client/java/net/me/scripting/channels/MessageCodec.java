@@ -0,0 +1,121 @@
+package net.me.scripting.channels;
+
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+
+import java.nio.ByteBuffer;
+
+// Compact tagged encoding written straight into a channel slot: primitives in place, strings as raw UTF-16,
+// arrays as a count followed by their elements. Objects are rejected; scripts can JSON.stringify them.
+final class MessageCodec {
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+    private static final byte ARRAY = 6;
+
+    private MessageCodec() {
+    }
+
+    static int encodedSize(Value value) {
+        if (value == null || value.isNull() || value.isBoolean()) return 1;
+        if (value.isNumber()) return value.fitsInInt() ? 1 + Integer.BYTES : 1 + Double.BYTES;
+        if (value.isString()) return 1 + Integer.BYTES + value.asString().length() * Character.BYTES;
+        if (value.hasArrayElements()) {
+            long size = 1 + Integer.BYTES;
+            long count = value.getArraySize();
+            for (long i = 0; i < count; i++) {
+                size += encodedSize(value.getArrayElement(i));
+                if (size > Integer.MAX_VALUE) return Integer.MAX_VALUE;
+            }
+            return (int) size;
+        }
+        throw new IllegalArgumentException("Channels carry null, booleans, numbers, strings and arrays of those, got: " + value);
+    }
+
+    // Returns the offset just past the encoded value; the caller has checked that it fits.
+    static int encode(Value value, ByteBuffer buffer, int offset) {
+        if (value == null || value.isNull()) {
+            buffer.put(offset, NULL);
+            return offset + 1;
+        }
+        if (value.isBoolean()) {
+            buffer.put(offset, value.asBoolean() ? TRUE : FALSE);
+            return offset + 1;
+        }
+        if (value.isNumber()) {
+            if (value.fitsInInt()) {
+                buffer.put(offset, INT).putInt(offset + 1, value.asInt());
+                return offset + 1 + Integer.BYTES;
+            }
+            buffer.put(offset, DOUBLE).putDouble(offset + 1, value.asDouble());
+            return offset + 1 + Double.BYTES;
+        }
+        if (value.isString()) {
+            String text = value.asString();
+            int length = text.length();
+            buffer.put(offset, STRING).putInt(offset + 1, length);
+            int at = offset + 1 + Integer.BYTES;
+            for (int i = 0; i < length; i++, at += Character.BYTES) {
+                buffer.putChar(at, text.charAt(i));
+            }
+            return at;
+        }
+        int count = (int) value.getArraySize();
+        buffer.put(offset, ARRAY).putInt(offset + 1, count);
+        int at = offset + 1 + Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            at = encode(value.getArrayElement(i), buffer, at);
+        }
+        return at;
+    }
+
+    static Object decode(ByteBuffer buffer, int offset) {
+        return decode(buffer, new int[]{offset});
+    }
+
+    private static Object decode(ByteBuffer buffer, int[] cursor) {
+        int at = cursor[0];
+        byte tag = buffer.get(at);
+        switch (tag) {
+            case NULL -> {
+                cursor[0] = at + 1;
+                return null;
+            }
+            case FALSE, TRUE -> {
+                cursor[0] = at + 1;
+                return tag == TRUE;
+            }
+            case INT -> {
+                cursor[0] = at + 1 + Integer.BYTES;
+                return buffer.getInt(at + 1);
+            }
+            case DOUBLE -> {
+                cursor[0] = at + 1 + Double.BYTES;
+                return buffer.getDouble(at + 1);
+            }
+            case STRING -> {
+                int length = buffer.getInt(at + 1);
+                char[] chars = new char[length];
+                int from = at + 1 + Integer.BYTES;
+                for (int i = 0; i < length; i++) {
+                    chars[i] = buffer.getChar(from + i * Character.BYTES);
+                }
+                cursor[0] = from + length * Character.BYTES;
+                return new String(chars);
+            }
+            case ARRAY -> {
+                int count = buffer.getInt(at + 1);
+                cursor[0] = at + 1 + Integer.BYTES;
+                Object[] items = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    items[i] = decode(buffer, cursor);
+                }
+                return ProxyArray.fromArray(items);
+            }
+            default -> throw new IllegalStateException("Corrupt channel message, tag " + tag);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package net.me.scripting.channels;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer queue with a sequence number per slot: producers race on the tail with a CAS, and a
+// slot becomes readable once its sequence says the producer finished writing it.
+public final class MpscChannel extends MessageChannel {
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    MpscChannel(String name, int capacity, int slotSize) {
+        super(name, capacity, slotSize);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.setPlain(i, i);
+        }
+    }
+
+    @Override
+    public Mode mode() {
+        return Mode.MPSC;
+    }
+
+    @Override
+    protected boolean singleProducer() {
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, tail.getAcquire() - head.getAcquire());
+    }
+
+    @Override
+    protected long claim() {
+        while (true) {
+            long t = tail.get();
+            long diff = sequences.getAcquire((int) (t & mask)) - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) return t;
+            } else if (diff < 0) {
+                return -1;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Override
+    protected void publish(long sequence) {
+        sequences.setRelease((int) (sequence & mask), sequence + 1);
+    }
+
+    @Override
+    protected long nextReadable() {
+        long h = head.getPlain();
+        return sequences.getAcquire((int) (h & mask)) == h + 1 ? h : -1;
+    }
+
+    @Override
+    protected void release(long sequence) {
+        sequences.setRelease((int) (sequence & mask), sequence + capacity);
+        head.setRelease(sequence + 1);
+    }
+}
@@ -0,0 +1,60 @@
+package net.me.scripting.channels;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// One producer, one consumer: each side owns its index and only publishes it with release semantics.
+public final class SpscChannel extends MessageChannel {
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long headCache;
+    private long tailCache;
+
+    SpscChannel(String name, int capacity, int slotSize) {
+        super(name, capacity, slotSize);
+    }
+
+    @Override
+    public Mode mode() {
+        return Mode.SPSC;
+    }
+
+    @Override
+    protected boolean singleProducer() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, tail.getAcquire() - head.getAcquire());
+    }
+
+    @Override
+    protected long claim() {
+        long t = tail.getPlain();
+        if (t - headCache >= capacity) {
+            headCache = head.getAcquire();
+            if (t - headCache >= capacity) return -1;
+        }
+        return t;
+    }
+
+    @Override
+    protected void publish(long sequence) {
+        tail.setRelease(sequence + 1);
+    }
+
+    @Override
+    protected long nextReadable() {
+        long h = head.getPlain();
+        if (h >= tailCache) {
+            tailCache = tail.getAcquire();
+            if (h >= tailCache) return -1;
+        }
+        return h;
+    }
+
+    @Override
+    protected void release(long sequence) {
+        head.setRelease(sequence + 1);
+    }
+}
@@ -0,0 +1,112 @@
+package net.me.scripting.diagnostics;
+
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.tools.profiler.CPUSampler;
+import com.oracle.truffle.tools.profiler.CPUSamplerData;
+import com.oracle.truffle.tools.profiler.ProfilerNode;
+import net.me.Main;
+import org.graalvm.polyglot.Engine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class CpuSamplingProfiler {
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static CPUSampler activeSampler;
+
+    private CpuSamplingProfiler() {
+    }
+
+    public static synchronized boolean isRunning() {
+        return activeSampler != null;
+    }
+
+    // Takes the engine shared by all script contexts, so sampling continues across a context refresh.
+    public static synchronized void start(Engine engine, long periodMillis) {
+        if (activeSampler != null) {
+            throw new IllegalStateException("CPU sampler is already running.");
+        }
+        CPUSampler sampler = CPUSampler.find(engine);
+        if (sampler == null) {
+            throw new IllegalStateException("CPU sampler instrument is not available in this engine.");
+        }
+        sampler.clearData();
+        sampler.setPeriod(periodMillis);
+        sampler.setCollecting(true);
+        activeSampler = sampler;
+    }
+
+    public static synchronized Result stop() throws IOException {
+        CPUSampler sampler = activeSampler;
+        if (sampler == null) {
+            throw new IllegalStateException("CPU sampler is not running.");
+        }
+        activeSampler = null;
+        sampler.setCollecting(false);
+
+        Map<String, Long> stacks = new TreeMap<>();
+        YarnNameRemapper remapper = new YarnNameRemapper();
+        for (CPUSamplerData data : sampler.getDataList()) {
+            for (Collection<ProfilerNode<CPUSampler.Payload>> roots : data.getThreadData().values()) {
+                Deque<String> path = new ArrayDeque<>();
+                for (ProfilerNode<CPUSampler.Payload> root : roots) {
+                    collapse(root, path, stacks, remapper);
+                }
+            }
+        }
+        sampler.clearData();
+        return new Result(write(stacks), stacks.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static void collapse(ProfilerNode<CPUSampler.Payload> node, Deque<String> path,
+                                 Map<String, Long> stacks, YarnNameRemapper remapper) {
+        path.addLast(frameName(node, remapper));
+        int selfHits = node.getPayload().getSelfHitCount();
+        if (selfHits > 0) {
+            stacks.merge(String.join(";", path), (long) selfHits, Long::sum);
+        }
+        for (ProfilerNode<CPUSampler.Payload> child : node.getChildren()) {
+            collapse(child, path, stacks, remapper);
+        }
+        path.removeLast();
+    }
+
+    private static String frameName(ProfilerNode<CPUSampler.Payload> node, YarnNameRemapper remapper) {
+        String name = node.getRootName();
+        name = (name == null || name.isEmpty()) ? "<anonymous>" : remapper.remap(name);
+        SourceSection section = node.getSourceSection();
+        if (section != null && section.isAvailable()) {
+            name = name + " (" + section.getSource().getName() + ":" + section.getStartLine() + ")";
+        }
+        // ';' separates frames in the collapsed format.
+        return name.replace(';', ',');
+    }
+
+    private static Path write(Map<String, Long> stacks) throws IOException {
+        Path dir = Main.MOD_DIR.resolve("profiles");
+        Files.createDirectories(dir);
+        Path target = dir.resolve("cpu-" + LocalDateTime.now().format(FILE_STAMP) + ".collapsed");
+        try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> stack : stacks.entrySet()) {
+                out.write(stack.getKey());
+                out.write(' ');
+                out.write(Long.toString(stack.getValue()));
+                out.write('\n');
+            }
+        }
+        return target;
+    }
+
+    public record Result(Path file, long samples) {
+    }
+}
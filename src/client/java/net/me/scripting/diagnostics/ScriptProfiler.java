@@ -0,0 +1,143 @@
+package net.me.scripting.diagnostics;
+
+import net.me.Main;
+import net.me.scripting.module.ScriptScope;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ScriptProfiler {
+    public static final String GLOBAL_SCOPE = "<global>";
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int CALIBRATION_ROUNDS = 100_000;
+
+    private static volatile boolean enabled;
+    private static final Map<String, ScriptStats> STATS = new ConcurrentHashMap<>();
+    private static final LongAdder timedSamples = new LongAdder();
+    private static volatile long startedAtNanos;
+    private static volatile long stoppedAtNanos;
+    private static volatile double timerCostNanos;
+
+    private ScriptProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static synchronized void start() {
+        if (enabled) return;
+        timerCostNanos = calibrateTimerCost();
+        startedAtNanos = System.nanoTime();
+        stoppedAtNanos = 0;
+        enabled = true;
+    }
+
+    public static synchronized void stop() {
+        if (!enabled) return;
+        enabled = false;
+        stoppedAtNanos = System.nanoTime();
+    }
+
+    public static synchronized void reset() {
+        STATS.clear();
+        timedSamples.reset();
+        startedAtNanos = enabled ? System.nanoTime() : 0;
+        stoppedAtNanos = 0;
+    }
+
+    // Returns 0 when profiling is off; call sites skip endHook in that case, so the profiler itself costs one
+    // volatile read. ScriptScope tracking around hooks is separate and always on, since ownership depends on it.
+    public static long beginHook() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void endHook(String scriptId, String hookName, long startNanos, boolean nested) {
+        if (startNanos == 0L) return;
+        recordHook(scriptId, hookName, System.nanoTime() - startNanos, nested);
+    }
+
+    // For callers that already timed the hook themselves and share the clock reads with other metrics.
+    public static void recordHook(String scriptId, String hookName, long elapsed, boolean nested) {
+        timedSamples.increment();
+        statsFor(scriptId).recordHook(hookName, nested ? 0L : elapsed);
+    }
+
+    public static void hostCall() {
+        if (!enabled) return;
+        statsFor(ScriptScope.current()).hostCalls.increment();
+    }
+
+    public static void wrapperAllocated() {
+        if (!enabled) return;
+        statsFor(ScriptScope.current()).wrapperAllocations.increment();
+    }
+
+    private static ScriptStats statsFor(String scriptId) {
+        return STATS.computeIfAbsent(scriptId != null ? scriptId : GLOBAL_SCOPE, ScriptStats::new);
+    }
+
+    public static List<ScriptStats.Snapshot> top(int limit) {
+        List<ScriptStats.Snapshot> snapshots = new ArrayList<>();
+        for (ScriptStats stats : STATS.values()) {
+            snapshots.add(stats.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(ScriptStats.Snapshot::wallNanos).reversed()
+                .thenComparing(Comparator.comparingLong(ScriptStats.Snapshot::hostCalls).reversed()));
+        return snapshots.size() > limit ? snapshots.subList(0, limit) : snapshots;
+    }
+
+    public static long sessionNanos() {
+        long start = startedAtNanos;
+        if (start == 0) return 0;
+        long end = enabled ? System.nanoTime() : stoppedAtNanos;
+        return Math.max(0, end - start);
+    }
+
+    // Only the clock reads of timed samples; bookkeeping and cache effects are not included.
+    public static double estimatedTimerNanos() {
+        return timedSamples.sum() * timerCostNanos * 2;
+    }
+
+    public static Path dump() throws IOException {
+        Path dir = Main.MOD_DIR.resolve("profiles");
+        Files.createDirectories(dir);
+        Path target = dir.resolve("script-profile-" + LocalDateTime.now().format(FILE_STAMP) + ".txt");
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("session: %.1f ms, timed samples: %d, timer cost: %.1f ns, time spent reading the clock: %.3f ms%n",
+                sessionNanos() / 1e6, timedSamples.sum(), timerCostNanos, estimatedTimerNanos() / 1e6));
+        sb.append(String.format("%-48s %12s %10s %12s %12s%n", "script", "wall ms", "calls", "host calls", "wrappers"));
+        List<ScriptStats.Snapshot> all = top(Integer.MAX_VALUE);
+        for (ScriptStats.Snapshot s : all) {
+            sb.append(String.format("%-48s %12.3f %10d %12d %12d%n",
+                    s.scriptId(), s.wallNanos() / 1e6, s.calls(), s.hostCalls(), s.wrapperAllocations()));
+            for (Map.Entry<String, ScriptStats.HookSnapshot> hook : s.hooks().entrySet()) {
+                sb.append(String.format("    %-44s %12.3f %10d%n",
+                        hook.getKey(), hook.getValue().wallNanos() / 1e6, hook.getValue().calls()));
+            }
+        }
+        Files.writeString(target, sb.toString(), StandardCharsets.UTF_8);
+        return target;
+    }
+
+    private static double calibrateTimerCost() {
+        long sink = 0;
+        long begin = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            sink += System.nanoTime();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return sink == 42 ? 0 : (double) elapsed / CALIBRATION_ROUNDS;
+    }
+}
@@ -0,0 +1,45 @@
+package net.me.scripting.diagnostics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ScriptStats {
+    private final String scriptId;
+    private final LongAdder wallNanos = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+    final LongAdder hostCalls = new LongAdder();
+    final LongAdder wrapperAllocations = new LongAdder();
+    private final Map<String, HookStats> hooks = new ConcurrentHashMap<>();
+
+    ScriptStats(String scriptId) {
+        this.scriptId = scriptId;
+    }
+
+    void recordHook(String hookName, long elapsedNanos) {
+        calls.increment();
+        wallNanos.add(elapsedNanos);
+        HookStats hook = hooks.computeIfAbsent(hookName, k -> new HookStats());
+        hook.calls.increment();
+        hook.wallNanos.add(elapsedNanos);
+    }
+
+    Snapshot snapshot() {
+        Map<String, HookSnapshot> hookSnapshots = new TreeMap<>();
+        hooks.forEach((name, stats) -> hookSnapshots.put(name, new HookSnapshot(stats.wallNanos.sum(), stats.calls.sum())));
+        return new Snapshot(scriptId, wallNanos.sum(), calls.sum(), hostCalls.sum(), wrapperAllocations.sum(), hookSnapshots);
+    }
+
+    private static final class HookStats {
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+    }
+
+    public record HookSnapshot(long wallNanos, long calls) {
+    }
+
+    public record Snapshot(String scriptId, long wallNanos, long calls, long hostCalls, long wrapperAllocations,
+                           Map<String, HookSnapshot> hooks) {
+    }
+}
@@ -0,0 +1,145 @@
+package net.me.scripting.diagnostics;
+
+import net.me.Main;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class StartupTracer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTracer.class);
+    private static final boolean ENABLED = Boolean.getBoolean("mqs.trace");
+    private static final String TRACE_FILE = "startup-trace.json";
+    private static final Span NOOP = () -> {
+    };
+    private static final long ORIGIN = System.nanoTime();
+    // Spans keep arriving after startup (every enableScript is traced), so the buffer stops growing at this cap.
+    private static final int MAX_EVENTS = Integer.getInteger("mqs.trace.maxEvents", 10_000);
+    private static final Queue<TraceEvent> EVENTS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger RECORDED = new AtomicInteger();
+    private static final AtomicLong DROPPED = new AtomicLong();
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(StartupTracer::flush, "MQS-TraceFlush"));
+        }
+    }
+
+    private StartupTracer() {
+    }
+
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private record TraceEvent(String name, String category, long startNanos, long durationNanos,
+                              long threadId, String threadName, Object arg) {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Span begin(String category, String name) {
+        return begin(category, name, null);
+    }
+
+    // The argument is only stringified when the trace is written, so callers can pass paths or ids as-is.
+    public static Span begin(String category, String name, Object arg) {
+        if (!ENABLED) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        Thread thread = Thread.currentThread();
+        return () -> record(new TraceEvent(name, category, start - ORIGIN, System.nanoTime() - start,
+                thread.threadId(), thread.getName(), arg));
+    }
+
+    private static void record(TraceEvent event) {
+        if (RECORDED.getAndIncrement() < MAX_EVENTS) {
+            EVENTS.add(event);
+        } else {
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    public static void flush() {
+        if (!ENABLED) {
+            return;
+        }
+        Path target = Main.MOD_DIR.resolve(TRACE_FILE);
+        List<TraceEvent> snapshot = new ArrayList<>(EVENTS);
+        try {
+            Files.createDirectories(target.getParent());
+            try (Writer out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                writeTrace(out, snapshot);
+            }
+            LOGGER.info("Wrote {} trace spans to {}", snapshot.size(), target);
+            long dropped = DROPPED.get();
+            if (dropped > 0) {
+                LOGGER.warn("Dropped {} trace spans past the -Dmqs.trace.maxEvents limit of {}", dropped, MAX_EVENTS);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to write startup trace to {}", target, e);
+        }
+    }
+
+    private static void writeTrace(Writer out, List<TraceEvent> events) throws IOException {
+        out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        Map<Long, String> threadNames = new HashMap<>();
+        for (TraceEvent event : events) {
+            threadNames.putIfAbsent(event.threadId(), event.threadName());
+            if (!first) out.write(',');
+            first = false;
+            out.write("\n{\"ph\":\"X\",\"pid\":1,\"tid\":" + event.threadId()
+                    + ",\"ts\":" + event.startNanos() / 1000.0
+                    + ",\"dur\":" + event.durationNanos() / 1000.0
+                    + ",\"cat\":" + quote(event.category())
+                    + ",\"name\":" + quote(event.name()));
+            if (event.arg() != null) {
+                out.write(",\"args\":{\"detail\":" + quote(String.valueOf(event.arg())) + "}");
+            }
+            out.write('}');
+        }
+        for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+            if (!first) out.write(',');
+            first = false;
+            out.write("\n{\"ph\":\"M\",\"pid\":1,\"tid\":" + thread.getKey()
+                    + ",\"name\":\"thread_name\",\"args\":{\"name\":" + quote(thread.getValue()) + "}}");
+        }
+        out.write("\n]}\n");
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
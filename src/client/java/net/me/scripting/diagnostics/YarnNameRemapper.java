@@ -0,0 +1,46 @@
+package net.me.scripting.diagnostics;
+
+import net.me.scripting.mappings.MappingsManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class YarnNameRemapper {
+    private static final Pattern INTERMEDIARY_TOKEN = Pattern.compile("net\\.minecraft\\.class_\\d+(?:\\$class_\\d+)*|method_\\d+|field_\\d+");
+
+    private final Map<String, String> classes;
+    private final Map<String, String> members = new HashMap<>();
+
+    public YarnNameRemapper() {
+        MappingsManager mm = MappingsManager.getInstance();
+        this.classes = mm.getRuntimeToYarnClassMap();
+        for (Map<String, List<String>> methods : mm.getMethodMap().values()) {
+            methods.forEach((yarn, runtimeNames) -> runtimeNames.forEach(runtime -> members.putIfAbsent(runtime, yarn)));
+        }
+        for (Map<String, String> fields : mm.getFieldMap().values()) {
+            fields.forEach((yarn, runtime) -> members.putIfAbsent(runtime, yarn));
+        }
+    }
+
+    public String remap(String name) {
+        if (name == null || name.indexOf('_') < 0) {
+            return name;
+        }
+        Matcher matcher = INTERMEDIARY_TOKEN.matcher(name);
+        StringBuilder sb = null;
+        while (matcher.find()) {
+            if (sb == null) sb = new StringBuilder(name.length());
+            String token = matcher.group();
+            String yarn = token.startsWith("net.") ? classes.get(token) : members.get(token);
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(yarn != null ? yarn : token));
+        }
+        if (sb == null) {
+            return name;
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+}
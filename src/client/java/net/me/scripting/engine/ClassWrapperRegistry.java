@@ -0,0 +1,50 @@
+package net.me.scripting.engine;
+
+import net.me.scripting.wrappers.JsClassWrapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ClassWrapperRegistry {
+    private final Map<String, JsClassWrapper> wrappers = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public interface WrapperFactory {
+        JsClassWrapper create(String runtimeName) throws Exception;
+    }
+
+    public JsClassWrapper getOrCreate(String runtimeName, WrapperFactory factory) {
+        JsClassWrapper existing = wrappers.get(runtimeName);
+        if (existing != null) {
+            hits.increment();
+            return existing;
+        }
+        return wrappers.computeIfAbsent(runtimeName, name -> {
+            misses.increment();
+            try {
+                return factory.create(name);
+            } catch (Exception e) {
+                failures.increment();
+                throw new RuntimeException("Failed to create class wrapper for " + name, e);
+            }
+        });
+    }
+
+    public JsClassWrapper get(String runtimeName) {
+        return wrappers.get(runtimeName);
+    }
+
+    public Stats stats() {
+        return new Stats(wrappers.size(), hits.sum(), misses.sum(), failures.sum());
+    }
+
+    public record Stats(int size, long hits, long misses, long failures) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -1,76 +1,99 @@
 package net.me.scripting.engine;
 
 import net.me.Main;
-import net.me.scripting.wrappers.LazyPackageProxy;
+import net.me.scripting.async.AsyncHostExecutor;
+import net.me.scripting.async.ScriptScheduler;
+import net.me.scripting.channels.ChannelRegistry;
+import net.me.scripting.diagnostics.StartupTracer;
+import net.me.scripting.logging.ScriptLogs;
+import net.me.scripting.metrics.ScriptingMetrics;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 public class ScriptContextFactory {
 
     private final ScriptingClassResolver classResolver;
+    // Every context is built on this engine, so instruments such as the CPU sampler survive a context refresh.
+    private final Engine engine = Engine.create("js");
 
     public ScriptContextFactory(ScriptingClassResolver classResolver) {
         this.classResolver = classResolver;
     }
 
-    public Context createContext(ThreadLocal<Map<String, Value>> perFileExports) {
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public Context createContext(ThreadLocal<Map<String, Value>> perFileExports, ScriptScheduler scheduler, ChannelRegistry channels) {
         Main.LOGGER.info("Creating new script context (ECMAScript 2024)...");
         long startTime = System.currentTimeMillis();
-        Context newContext = Context.newBuilder("js")
-                .allowHostAccess(HostAccess.ALL)
-                .allowHostClassLookup(classResolver::isClassAllowed)
-                .option("js.ecmascript-version", "2024")
-                .option("js.esm-eval-returns-exports", "true")
-                .build();
+        Context newContext;
+        try (var span = StartupTracer.begin("context", "createContext")) {
+            newContext = Context.newBuilder("js")
+                    .engine(engine)
+                    .allowHostAccess(HostAccess.ALL)
+                    .allowHostClassLookup(classResolver::isClassAllowed)
+                    .option("js.ecmascript-version", "2024")
+                    .option("js.esm-eval-returns-exports", "true")
+                    .build();
 
-        configureContext(newContext, perFileExports);
+            configureContext(newContext, perFileExports, scheduler, channels);
+            ScriptingMetrics.contextCreated();
+        }
 
         long endTime = System.currentTimeMillis();
         Main.LOGGER.info("New script context created in {}ms.", (endTime - startTime));
         return newContext;
     }
 
-    private void configureContext(Context context, ThreadLocal<Map<String, Value>> perFileExports) {
+    private void configureContext(Context context, ThreadLocal<Map<String, Value>> perFileExports, ScriptScheduler scheduler, ChannelRegistry channels) {
         registerPackages(context);
 
         var bindings = context.getBindings("js");
 
-        bindings.putMember("importClass", ScriptingApi.createImportClassProxy(classResolver, context));
-        bindings.putMember("extendMapped", ScriptingApi.createExtendMappedProxy(classResolver, context));
+        ScriptIntrinsics intrinsics = new ScriptIntrinsics(context);
+        bindings.putMember("importClass", ScriptingApi.createImportClassProxy(classResolver, intrinsics));
+        bindings.putMember("extendMapped", ScriptingApi.createExtendMappedProxy(classResolver, intrinsics));
         bindings.putMember("wrap", ScriptingApi.createWrapProxy(classResolver));
         bindings.putMember("exportModule", ScriptingApi.createExportModuleProxy(perFileExports));
 
+        bindings.putMember("setTimeout", ScriptingApi.createTimerProxy(scheduler, false));
+        bindings.putMember("setInterval", ScriptingApi.createTimerProxy(scheduler, true));
+        bindings.putMember("clearTimeout", ScriptingApi.createClearTimerProxy(scheduler));
+        bindings.putMember("clearInterval", ScriptingApi.createClearTimerProxy(scheduler));
+        bindings.putMember("nextTick", ScriptingApi.createNextTickProxy(scheduler, intrinsics));
+        bindings.putMember("events", ScriptingApi.createEventsProxy());
+        bindings.putMember("render2d", ScriptingApi.createRender2DProxy());
+        bindings.putMember("hud", ScriptingApi.createHudProxy());
+        bindings.putMember("channel", ScriptingApi.createChannelProxy(channels));
+        bindings.putMember("buffers", ScriptingApi.createBuffersProxy(intrinsics));
+        bindings.putMember("storage", ScriptingApi.createStorageProxy(intrinsics));
+        bindings.putMember("io", ScriptingApi.createAsyncIoProxy(new AsyncHostExecutor(scheduler, intrinsics), Main.MOD_DIR.resolve("data")));
+
+        ScriptLogs logs = ScriptLogs.getInstance();
         bindings.putMember("println", (ProxyExecutable) args -> {
-            for (Value arg : args) System.out.println(arg);
+            logs.append(args, true);
             return null;
         });
         bindings.putMember("print", (ProxyExecutable) args -> {
-            for (Value arg : args) System.out.print(arg);
+            logs.append(args, false);
             return null;
         });
     }
 
     private void registerPackages(Context context) {
-        Set<String> topLevelPackages = new HashSet<>();
-        if (classResolver.getKnownPackagePrefixes() != null) {
-            for (String prefix : classResolver.getKnownPackagePrefixes()) {
-                if (classResolver.isClassInMc(prefix)) {
-                    topLevelPackages.add(prefix.split("\\.")[0]);
+        try (var span = StartupTracer.begin("context", "registerPackages")) {
+            var bindings = context.getBindings("js");
+            for (String pkg : classResolver.getTopLevelPackages()) {
+                if (!bindings.hasMember(pkg)) {
+                    bindings.putMember(pkg, classResolver.getPackageRoot().child(pkg).getPackageProxy(classResolver));
                 }
             }
         }
-
-        var bindings = context.getBindings("js");
-        for (String pkg : topLevelPackages) {
-            if (!bindings.hasMember(pkg)) {
-                bindings.putMember(pkg, new LazyPackageProxy(pkg, this.classResolver));
-            }
-        }
     }
 }
\ No newline at end of file
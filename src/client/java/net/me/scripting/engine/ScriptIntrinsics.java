@@ -0,0 +1,83 @@
+package net.me.scripting.engine;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ScriptIntrinsics {
+    private final Context context;
+    private final Value javaType;
+    private final Value javaExtend;
+    private final Value javaSuper;
+    private final Value objectFactory;
+    private final Value deferredFactory;
+    private final Value errorFactory;
+    private final Value arrayBufferFactory;
+    private final Value typedArrayFactory;
+    private final Map<String, Value> typeCache = new HashMap<>();
+
+    public ScriptIntrinsics(Context context) {
+        this.context = context;
+        Value java = context.eval("js", "Java");
+        this.javaType = java.getMember("type");
+        this.javaExtend = java.getMember("extend");
+        this.javaSuper = java.getMember("super");
+        this.objectFactory = context.eval("js", "() => ({})");
+        this.errorFactory = context.eval("js", "(message) => new Error(message)");
+        this.arrayBufferFactory = context.eval("js", "(buffer) => new ArrayBuffer(buffer)");
+        this.typedArrayFactory = context.eval("js", "(type, buffer) => new globalThis[type](buffer)");
+        this.deferredFactory = context.eval("js",
+                "() => { const d = {}; d.promise = new Promise((resolve, reject) => { d.resolve = resolve; d.reject = reject; }); return d; }");
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public Value type(String className) {
+        Value cached = typeCache.get(className);
+        if (cached == null) {
+            cached = javaType.execute(className);
+            typeCache.put(className, cached);
+        }
+        return cached;
+    }
+
+    public Value extend(Object... types) {
+        return javaExtend.execute(types);
+    }
+
+    public Value superOf(Object instance) {
+        return javaSuper.execute(instance);
+    }
+
+    public Value newObject() {
+        return objectFactory.execute();
+    }
+
+    public Value newError(String message) {
+        return errorFactory.execute(message);
+    }
+
+    // Wraps the host buffer without copying; the script sees its remaining bytes.
+    public Value newArrayBuffer(ByteBuffer buffer) {
+        return arrayBufferFactory.execute(buffer);
+    }
+
+    // The caller validates the constructor name; the view covers the whole ArrayBuffer.
+    public Value newTypedArray(String type, Value arrayBuffer) {
+        return typedArrayFactory.execute(type, arrayBuffer);
+    }
+
+    // A pending JS promise together with its settle functions, for host code that completes it later.
+    public Deferred newDeferred() {
+        Value d = deferredFactory.execute();
+        return new Deferred(d.getMember("promise"), d.getMember("resolve"), d.getMember("reject"));
+    }
+
+    public record Deferred(Value promise, Value resolve, Value reject) {
+    }
+}
@@ -1,6 +1,7 @@
 package net.me.scripting.engine;
 
 import net.me.Main;
+import net.me.scripting.metrics.ScriptingMetrics;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
@@ -22,9 +23,11 @@ public class ScriptLoader {
                     .mimeType("application/javascript+module")
                     .build();
             context.eval(source);
+            ScriptingMetrics.SOURCES_COMPILED.increment();
 
             return perFileExports.get();
         } catch (Exception e) {
+            ScriptingMetrics.SOURCES_FAILED.increment();
             Main.LOGGER.error("Failed to load or parse script file for modules: {}", scriptPath, e);
             return Collections.emptyMap();
         } finally {
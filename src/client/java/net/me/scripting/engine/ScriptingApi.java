@@ -1,25 +1,48 @@
 package net.me.scripting.engine;
 
 import net.me.Main;
+import net.me.screen.hud.HudManager;
+import net.me.scripting.async.AsyncHostExecutor;
+import net.me.scripting.async.ScriptScheduler;
+import net.me.scripting.buffers.SharedBufferRegistry;
+import net.me.scripting.channels.ChannelRegistry;
+import net.me.scripting.channels.MessageChannel;
 import net.me.scripting.config.ExtensionConfig;
 import net.me.scripting.config.MappedClassInfo;
+import net.me.scripting.events.EventHook;
+import net.me.scripting.events.GameEvents;
 import net.me.scripting.extenders.MappedClassExtender;
 import net.me.scripting.extenders.proxies.ExtendedInstanceProxy;
 import net.me.scripting.extenders.proxies.MappedInstanceProxy;
+import net.me.scripting.module.ScriptScope;
+import net.me.scripting.storage.KvStore;
+import net.me.scripting.storage.StorageManager;
 import net.me.scripting.utils.MappingUtils;
 import net.me.scripting.utils.ScriptUtils;
 import net.me.scripting.wrappers.JsClassWrapper;
 import net.me.scripting.wrappers.JsObjectWrapper;
 import net.me.scripting.wrappers.LazyJsClassHolder;
+import net.me.utils.Render2DBatch;
+import net.me.utils.Render2DUtils;
+import net.minecraft.client.gui.DrawContext;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.graalvm.polyglot.proxy.ProxyObject;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class ScriptingApi {
 
-    public static ProxyExecutable createImportClassProxy(ScriptingClassResolver resolver, Context context) {
+    public static ProxyExecutable createImportClassProxy(ScriptingClassResolver resolver, ScriptIntrinsics intrinsics) {
         return args -> {
             if (args.length == 0 || !args[0].isString())
                 throw new RuntimeException("importClass requires a FQCN string argument (Yarn mappings).");
@@ -29,7 +52,7 @@ public class ScriptingApi {
             String runtime = resolver.getRuntimeName(name);
             if (runtime != null) return resolver.getOrCreateWrapper(runtime);
             try {
-                return context.eval("js", "Java.type('" + name + "')");
+                return intrinsics.type(name);
             } catch (Exception e) {
                 throw new RuntimeException("Unknown class or could not load host class: " + name, e);
             }
@@ -58,7 +81,8 @@ public class ScriptingApi {
         };
     }
 
-    public static ProxyExecutable createExtendMappedProxy(ScriptingClassResolver resolver, Context context) {
+    public static ProxyExecutable createExtendMappedProxy(ScriptingClassResolver resolver, ScriptIntrinsics intrinsics) {
+        Context context = intrinsics.getContext();
         return args -> {
             if (args.length != 1) {
                 throw new RuntimeException("extendMapped() requires exactly one configuration object argument.");
@@ -100,7 +124,404 @@ public class ScriptingApi {
                 config = parseExtensionConfig(configArg, context, resolver, extendsValue);
             }
 
-            return new MappedClassExtender(config, context, parentOverrides, parentAddons, parentSuper);
+            return new MappedClassExtender(config, intrinsics, parentOverrides, parentAddons, parentSuper);
+        };
+    }
+
+    public static ProxyExecutable createTimerProxy(ScriptScheduler scheduler, boolean repeat) {
+        String name = repeat ? "setInterval" : "setTimeout";
+        return args -> {
+            if (args.length == 0 || !args[0].canExecute()) {
+                throw new RuntimeException(name + "() requires a function as its first argument.");
+            }
+            double millis = args.length > 1 && args[1].isNumber() ? args[1].asDouble() : 0;
+            long ticks = ScriptScheduler.millisToTicks(millis);
+            Object[] callbackArgs = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length, Object[].class) : new Object[0];
+            return scheduler.schedule(args[0], callbackArgs, ticks, repeat ? Math.max(1, ticks) : 0);
+        };
+    }
+
+    public static ProxyExecutable createClearTimerProxy(ScriptScheduler scheduler) {
+        return args -> {
+            if (args.length > 0 && args[0].isNumber() && args[0].fitsInLong()) {
+                scheduler.cancel(args[0].asLong());
+            }
+            return null;
+        };
+    }
+
+    // nextTick(fn) runs fn on the next scheduler pump; nextTick() returns a promise resolved then, for `await nextTick()`.
+    public static ProxyExecutable createNextTickProxy(ScriptScheduler scheduler, ScriptIntrinsics intrinsics) {
+        return args -> {
+            if (args.length > 0 && args[0].canExecute()) {
+                Value callback = args[0];
+                scheduler.enqueue(callback::executeVoid);
+                return null;
+            }
+            ScriptIntrinsics.Deferred deferred = intrinsics.newDeferred();
+            scheduler.enqueue(() -> deferred.resolve().executeVoid());
+            return deferred.promise();
+        };
+    }
+
+    // Blocking file access on virtual threads; every call returns a promise. Each script gets its own directory under
+    // dataDir and paths may not leave it, so scripts cannot touch storage, logs, sources or each other's files.
+    public static ProxyObject createAsyncIoProxy(AsyncHostExecutor async, Path dataDir) {
+        Path base = dataDir.toAbsolutePath().normalize();
+        Map<String, Object> members = new HashMap<>();
+        members.put("readText", (ProxyExecutable) args -> {
+            Path root = ioRoot(base, "readText");
+            Path path = resolveIoPath(root, args, "readText");
+            return async.submit("readText", () -> Files.readString(checkRealPath(root, path), StandardCharsets.UTF_8));
+        });
+        members.put("readBytes", (ProxyExecutable) args -> {
+            Path root = ioRoot(base, "readBytes");
+            Path path = resolveIoPath(root, args, "readBytes");
+            return async.submit("readBytes", () -> Files.readAllBytes(checkRealPath(root, path)));
+        });
+        members.put("writeText", (ProxyExecutable) args -> {
+            Path root = ioRoot(base, "writeText");
+            Path path = resolveIoPath(root, args, "writeText");
+            if (args.length < 2) throw new RuntimeException("writeText() requires a path and the text to write.");
+            String text = args[1].isString() ? args[1].asString() : args[1].toString();
+            return async.submit("writeText", () -> {
+                checkRealPath(root, path);
+                Path parent = path.getParent();
+                if (parent != null) Files.createDirectories(parent);
+                Files.writeString(path, text, StandardCharsets.UTF_8, LinkOption.NOFOLLOW_LINKS,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                return null;
+            });
+        });
+        members.put("exists", (ProxyExecutable) args -> {
+            Path root = ioRoot(base, "exists");
+            Path path = resolveIoPath(root, args, "exists");
+            return async.submit("exists", () -> Files.exists(checkRealPath(root, path)));
+        });
+        members.put("list", (ProxyExecutable) args -> {
+            Path root = ioRoot(base, "list");
+            Path path = resolveIoPath(root, args, "list");
+            return async.submit("list", () -> {
+                try (Stream<Path> entries = Files.list(checkRealPath(root, path))) {
+                    return entries.map(p -> p.getFileName().toString()).sorted().toArray(String[]::new);
+                }
+            });
+        });
+        return ProxyObject.fromMap(members);
+    }
+
+    private static Path ioRoot(Path base, String operation) {
+        String owner = ScriptScope.current();
+        if (owner == null) throw new RuntimeException("io." + operation + "() can only be used from inside a script.");
+        return base.resolve(StorageManager.directoryName(owner));
+    }
+
+    private static Path resolveIoPath(Path root, Value[] args, String operation) {
+        if (args.length == 0 || !args[0].isString()) {
+            throw new RuntimeException(operation + "() requires a path string.");
+        }
+        Path resolved = root.resolve(args[0].asString()).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new RuntimeException("Path escapes the script's data directory: " + args[0].asString());
+        }
+        return resolved;
+    }
+
+    // The lexical check above cannot see symlinks, so the nearest existing ancestor is re-checked by real path on the
+    // I/O thread right before the access. Dangling links fail toRealPath and are rejected as well.
+    private static Path checkRealPath(Path root, Path path) throws IOException {
+        if (!Files.exists(root)) return path;
+        Path realRoot = root.toRealPath();
+        for (Path current = path; current != null && current.startsWith(root); current = current.getParent()) {
+            if (!Files.exists(current, LinkOption.NOFOLLOW_LINKS)) continue;
+            if (!current.toRealPath().startsWith(realRoot)) {
+                throw new IOException("Path escapes the script's data directory: " + root.relativize(path));
+            }
+            break;
+        }
+        return path;
+    }
+
+    // events.on(name, fn) returns an unsubscribe function; listeners are dropped when their script is disabled.
+    public static ProxyObject createEventsProxy() {
+        Map<String, Object> members = new HashMap<>();
+        members.put("on", (ProxyExecutable) args -> {
+            EventHook hook = resolveEvent(args, "on");
+            if (args.length < 2) throw new RuntimeException("events.on() requires an event name and a listener function.");
+            EventHook.Listener listener = hook.subscribe(ScriptScope.current(), args[1]);
+            return (ProxyExecutable) ignored -> hook.unsubscribe(listener);
+        });
+        members.put("off", (ProxyExecutable) args -> {
+            EventHook hook = resolveEvent(args, "off");
+            return args.length > 1 && hook.unsubscribe(args[1]);
+        });
+        members.put("names", (ProxyExecutable) args -> GameEvents.all().stream().map(EventHook::getName).toArray(String[]::new));
+        return ProxyObject.fromMap(members);
+    }
+
+    private static EventHook resolveEvent(Value[] args, String operation) {
+        if (args.length == 0 || !args[0].isString()) {
+            throw new RuntimeException("events." + operation + "() requires an event name.");
+        }
+        EventHook hook = GameEvents.get(args[0].asString());
+        if (hook == null) {
+            throw new RuntimeException("Unknown event: " + args[0].asString());
+        }
+        return hook;
+    }
+
+    // Shapes drawn inside batch(ctx, fn) are flushed as one draw call per shader. There is deliberately no begin/end pair:
+    // a script that throws or forgets end() would leave the shared batch open and swallow every later draw.
+    public static ProxyObject createRender2DProxy() {
+        Map<String, Object> members = new HashMap<>();
+        members.put("batch", (ProxyExecutable) args -> {
+            if (args.length < 2 || !args[1].canExecute()) {
+                throw new RuntimeException("render2d.batch() requires a draw context and a function.");
+            }
+            try (var batch = Render2DBatch.begin()) {
+                args[1].executeVoid(args[0]);
+            }
+            return null;
+        });
+        members.put("rect", (ProxyExecutable) args -> {
+            requireArgs(args, 6, "rect(ctx, x, y, width, height, color)");
+            Render2DUtils.drawRect(drawContext(args[0]), toFloat(args[1]), toFloat(args[2]), toFloat(args[3]), toFloat(args[4]), color(args[5]));
+            return null;
+        });
+        members.put("outline", (ProxyExecutable) args -> {
+            requireArgs(args, 7, "outline(ctx, x, y, width, height, lineWidth, color)");
+            Render2DUtils.drawOutline(drawContext(args[0]), toFloat(args[1]), toFloat(args[2]), toFloat(args[3]), toFloat(args[4]), toFloat(args[5]), color(args[6]));
+            return null;
+        });
+        members.put("roundedRect", (ProxyExecutable) args -> {
+            requireArgs(args, 8, "roundedRect(ctx, x, y, width, height, radius, quality, color)");
+            Render2DUtils.drawRoundedRect(drawContext(args[0]), toFloat(args[1]), toFloat(args[2]), toFloat(args[3]), toFloat(args[4]),
+                    toFloat(args[5]), toFloat(args[6]), color(args[7]));
+            return null;
+        });
+        members.put("roundedOutline", (ProxyExecutable) args -> {
+            requireArgs(args, 9, "roundedOutline(ctx, x, y, width, height, radius, lineWidth, quality, color)");
+            Render2DUtils.drawRoundedOutline(drawContext(args[0]), toFloat(args[1]), toFloat(args[2]), toFloat(args[3]), toFloat(args[4]),
+                    toFloat(args[5]), toFloat(args[6]), toFloat(args[7]), color(args[8]));
+            return null;
+        });
+        members.put("text", (ProxyExecutable) args -> {
+            requireArgs(args, 5, "text(ctx, text, x, y, color[, shadow, scale])");
+            boolean shadow = args.length > 5 && args[5].isBoolean() && args[5].asBoolean();
+            float scale = args.length > 6 && args[6].isNumber() ? toFloat(args[6]) : 1f;
+            Render2DUtils.drawText(drawContext(args[0]), args[1].toString(), toFloat(args[2]), toFloat(args[3]), color(args[4]), shadow, scale);
+            return null;
+        });
+        return ProxyObject.fromMap(members);
+    }
+
+    private static void requireArgs(Value[] args, int count, String usage) {
+        if (args.length < count) {
+            throw new RuntimeException("render2d." + usage + " requires " + count + " arguments.");
+        }
+    }
+
+    private static DrawContext drawContext(Value value) {
+        if (ScriptUtils.unwrapReceiver(value) instanceof DrawContext context) {
+            return context;
+        }
+        throw new RuntimeException("Expected a DrawContext, got " + value);
+    }
+
+    // Value.asFloat() rejects doubles that are not exactly representable, e.g. 0.1.
+    private static float toFloat(Value value) {
+        return (float) value.asDouble();
+    }
+
+    // ARGB literals such as 0xFF202020 exceed int range as JS numbers.
+    private static int color(Value value) {
+        return value.fitsInInt() ? value.asInt() : (int) value.asLong();
+    }
+
+    // Retained HUD layers; the layer and its elements are host objects the script keeps and mutates.
+    public static ProxyObject createHudProxy() {
+        Map<String, Object> members = new HashMap<>();
+        members.put("createLayer", (ProxyExecutable) args -> HudManager.getInstance().createLayer());
+        return ProxyObject.fromMap(members);
+    }
+
+    // channel.open(name, { mode: "mpsc" | "spsc", capacity, slotSize }) returns a handle usable from any context
+    // that opens the same name. receive() returns null when empty; drain(fn, max) also delivers null messages.
+    // The first thread to receive owns that side (and, for spsc, the first to send owns sending); others throw.
+    public static ProxyObject createChannelProxy(ChannelRegistry registry) {
+        Map<String, Object> members = new HashMap<>();
+        members.put("open", (ProxyExecutable) args -> {
+            if (args.length == 0 || !args[0].isString()) throw new RuntimeException("channel.open() requires a channel name.");
+            Value options = args.length > 1 && !args[1].isNull() ? args[1] : null;
+            MessageChannel.Mode mode = MessageChannel.Mode.MPSC;
+            int capacity = ChannelRegistry.DEFAULT_CAPACITY;
+            int slotSize = ChannelRegistry.DEFAULT_SLOT_SIZE;
+            if (options != null) {
+                if (options.hasMember("mode")) mode = MessageChannel.Mode.valueOf(options.getMember("mode").asString().toUpperCase(Locale.ROOT));
+                if (options.hasMember("capacity")) capacity = options.getMember("capacity").asInt();
+                if (options.hasMember("slotSize")) slotSize = options.getMember("slotSize").asInt();
+            }
+            return createChannelHandle(registry.open(args[0].asString(), mode, capacity, slotSize));
+        });
+        members.put("close", (ProxyExecutable) args -> {
+            if (args.length == 0 || !args[0].isString()) throw new RuntimeException("channel.close() requires a channel name.");
+            return registry.close(args[0].asString());
+        });
+        members.put("names", (ProxyExecutable) args -> registry.names().toArray(String[]::new));
+        return ProxyObject.fromMap(members);
+    }
+
+    private static ProxyObject createChannelHandle(MessageChannel channel) {
+        Map<String, Object> members = new HashMap<>();
+        members.put("name", channel.name());
+        members.put("send", (ProxyExecutable) args -> channel.offer(args.length > 0 ? args[0] : null));
+        members.put("receive", (ProxyExecutable) args -> {
+            Object message = channel.poll();
+            return message == MessageChannel.EMPTY ? null : message;
+        });
+        members.put("drain", (ProxyExecutable) args -> {
+            if (args.length == 0 || !args[0].canExecute()) throw new RuntimeException("drain() requires a callback function.");
+            int max = args.length > 1 ? args[1].asInt() : channel.capacity();
+            int count = 0;
+            Object message;
+            while (count < max && (message = channel.poll()) != MessageChannel.EMPTY) {
+                args[0].executeVoid(message);
+                count++;
+            }
+            return count;
+        });
+        members.put("size", (ProxyExecutable) args -> channel.size());
+        members.put("capacity", (ProxyExecutable) args -> channel.capacity());
+        return ProxyObject.fromMap(members);
+    }
+
+    private static final Set<String> TYPED_ARRAYS = Set.of("Int8Array", "Uint8Array", "Uint8ClampedArray", "Int16Array",
+            "Uint16Array", "Int32Array", "Uint32Array", "Float32Array", "Float64Array", "BigInt64Array", "BigUint64Array");
+
+    // Native-order byte buffers handed to scripts as ArrayBuffers (or typed-array views with { type }), so element
+    // access runs as plain typed-array reads and writes. Named buffers are shared between scripts and contexts.
+    public static ProxyObject createBuffersProxy(ScriptIntrinsics intrinsics) {
+        SharedBufferRegistry registry = SharedBufferRegistry.getInstance();
+        Map<String, Object> members = new HashMap<>();
+        members.put("allocate", (ProxyExecutable) args -> {
+            if (args.length == 0 || !args[0].fitsInInt()) throw new RuntimeException("buffers.allocate() requires a byte length.");
+            Value options = args.length > 1 ? args[1] : null;
+            ByteBuffer buffer = registry.allocate(args[0].asInt(), bufferIsDirect(options));
+            return exposeBuffer(buffer, options, intrinsics);
+        });
+        members.put("open", (ProxyExecutable) args -> {
+            if (args.length < 2 || !args[0].isString() || !args[1].fitsInInt()) {
+                throw new RuntimeException("buffers.open() requires a name and a byte length.");
+            }
+            Value options = args.length > 2 ? args[2] : null;
+            ByteBuffer buffer = registry.open(args[0].asString(), args[1].asInt(), bufferIsDirect(options), ScriptScope.current());
+            return exposeBuffer(buffer, options, intrinsics);
+        });
+        members.put("release", (ProxyExecutable) args -> {
+            if (args.length == 0 || !args[0].isString()) throw new RuntimeException("buffers.release() requires a name.");
+            return registry.release(args[0].asString(), ScriptScope.current());
+        });
+        members.put("names", (ProxyExecutable) args -> registry.names().toArray(String[]::new));
+        return ProxyObject.fromMap(members);
+    }
+
+    private static boolean bufferIsDirect(Value options) {
+        return options == null || options.isNull() || !options.hasMember("direct") || options.getMember("direct").asBoolean();
+    }
+
+    private static Value exposeBuffer(ByteBuffer buffer, Value options, ScriptIntrinsics intrinsics) {
+        Value arrayBuffer = intrinsics.newArrayBuffer(buffer);
+        if (options == null || options.isNull() || !options.hasMember("type")) return arrayBuffer;
+        String type = options.getMember("type").asString();
+        if (!TYPED_ARRAYS.contains(type)) throw new RuntimeException("Unknown typed array type: " + type);
+        return intrinsics.newTypedArray(type, arrayBuffer);
+    }
+
+    private static final byte STORED_STRING = 0;
+    private static final byte STORED_NUMBER = 1;
+    private static final byte STORED_BOOLEAN = 2;
+    private static final byte STORED_BYTES = 3;
+
+    // Persistent per-script key/value storage. Values keep their JS type through a one-byte tag; getBuffer()
+    // returns a read-only ArrayBuffer over the stored bytes without copying them.
+    public static ProxyObject createStorageProxy(ScriptIntrinsics intrinsics) {
+        Map<String, Object> members = new HashMap<>();
+        members.put("get", (ProxyExecutable) args -> {
+            ByteBuffer stored = currentStore().get(storageKey(args, "get"));
+            return stored == null ? null : decodeStored(stored, intrinsics);
+        });
+        members.put("getBuffer", (ProxyExecutable) args -> {
+            ByteBuffer stored = currentStore().get(storageKey(args, "getBuffer"));
+            return stored == null ? null : intrinsics.newArrayBuffer(stored.position(1).slice());
+        });
+        members.put("put", (ProxyExecutable) args -> {
+            String key = storageKey(args, "put");
+            if (args.length < 2 || args[1].isNull()) throw new RuntimeException("storage.put() requires a key and a value.");
+            currentStore().put(key, encodeStored(args[1]));
+            return null;
+        });
+        members.put("remove", (ProxyExecutable) args -> {
+            currentStore().remove(storageKey(args, "remove"));
+            return null;
+        });
+        members.put("has", (ProxyExecutable) args -> currentStore().contains(storageKey(args, "has")));
+        members.put("keys", (ProxyExecutable) args -> currentStore().keys().toArray(String[]::new));
+        return ProxyObject.fromMap(members);
+    }
+
+    private static KvStore currentStore() {
+        String owner = ScriptScope.current();
+        if (owner == null) throw new RuntimeException("storage can only be used from inside a script.");
+        return StorageManager.getInstance().store(owner);
+    }
+
+    private static String storageKey(Value[] args, String operation) {
+        if (args.length == 0 || !args[0].isString()) {
+            throw new RuntimeException("storage." + operation + "() requires a key string.");
+        }
+        return args[0].asString();
+    }
+
+    private static byte[] encodeStored(Value value) {
+        if (value.isString()) {
+            byte[] text = value.asString().getBytes(StandardCharsets.UTF_8);
+            byte[] out = new byte[text.length + 1];
+            out[0] = STORED_STRING;
+            System.arraycopy(text, 0, out, 1, text.length);
+            return out;
+        }
+        if (value.isNumber()) {
+            return ByteBuffer.allocate(9).put(STORED_NUMBER).putDouble(value.asDouble()).array();
+        }
+        if (value.isBoolean()) {
+            return new byte[]{STORED_BOOLEAN, (byte) (value.asBoolean() ? 1 : 0)};
+        }
+        Value buffer = value;
+        long offset = 0;
+        if (!value.hasBufferElements() && value.hasMember("buffer") && value.getMember("buffer").hasBufferElements()) {
+            buffer = value.getMember("buffer");
+            offset = value.getMember("byteOffset").asLong();
+        }
+        if (!buffer.hasBufferElements()) {
+            throw new RuntimeException("storage.put() accepts strings, numbers, booleans, ArrayBuffers and typed arrays.");
+        }
+        long size = buffer == value ? buffer.getBufferSize() : value.getMember("byteLength").asLong();
+        if (size > Integer.MAX_VALUE - 1) throw new RuntimeException("storage.put() value is too large.");
+        byte[] out = new byte[(int) size + 1];
+        out[0] = STORED_BYTES;
+        buffer.readBuffer(offset, out, 1, (int) size);
+        return out;
+    }
+
+    private static Object decodeStored(ByteBuffer stored, ScriptIntrinsics intrinsics) {
+        byte tag = stored.get(0);
+        ByteBuffer payload = stored.position(1).slice();
+        return switch (tag) {
+            case STORED_STRING -> StandardCharsets.UTF_8.decode(payload).toString();
+            case STORED_NUMBER -> payload.getDouble(0);
+            case STORED_BOOLEAN -> payload.get(0) != 0;
+            case STORED_BYTES -> intrinsics.newArrayBuffer(payload);
+            default -> throw new RuntimeException("Unknown stored value type " + tag);
         };
     }
 
@@ -164,26 +585,14 @@ public class ScriptingApi {
         if (value.isProxyObject()) {
             Object proxy = value.asProxyObject();
             if (proxy instanceof MappedClassExtender extender) {
-                try {
-                    java.lang.reflect.Field configField = MappedClassExtender.class.getDeclaredField("config");
-                    configField.setAccessible(true);
-                    ExtensionConfig parentConfig = (ExtensionConfig) configField.get(extender);
-                    return parentConfig.extendsClass();
-                } catch (Exception e) {
-                    throw new RuntimeException("Could not extract config from parent MappedClassExtender.", e);
-                }
+                return extender.getConfig().extendsClass();
             }
 
             JsClassWrapper wrapper = null;
             String yarnName = null;
             if (proxy instanceof LazyJsClassHolder holder) {
                 wrapper = holder.getWrapper();
-                try {
-                    java.lang.reflect.Field yarnNameField = LazyJsClassHolder.class.getDeclaredField("yarnName");
-                    yarnNameField.setAccessible(true);
-                    yarnName = (String) yarnNameField.get(holder);
-                } catch (Exception ignored) {
-                }
+                yarnName = holder.getYarnName();
             } else if (proxy instanceof JsClassWrapper w) {
                 wrapper = w;
             }
@@ -198,8 +607,8 @@ public class ScriptingApi {
             Class<?> clazz = value.as(Class.class);
             String yarnName = resolver.getRuntimeToYarnMap().get(clazz.getName());
             if (yarnName != null) {
-                var cm = MappingUtils.combineMappings(clazz, resolver.getRuntimeToYarnMap(), resolver.getMethodMap(), resolver.getFieldMap());
-                return new MappedClassInfo(yarnName, clazz, cm.methods(), cm.fields());
+                JsClassWrapper wrapper = resolver.getOrCreateWrapper(clazz.getName());
+                return new MappedClassInfo(yarnName, clazz, wrapper.getMethodMappings(), wrapper.getFieldMappings());
             } else {
                 return new MappedClassInfo(clazz.getName(), clazz, Collections.emptyMap(), Collections.emptyMap());
             }
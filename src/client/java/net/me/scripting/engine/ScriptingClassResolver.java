@@ -1,8 +1,10 @@
 package net.me.scripting.engine;
 
+import net.me.scripting.diagnostics.StartupTracer;
 import net.me.scripting.mappings.MappingsManager;
 import net.me.scripting.utils.MappingUtils;
 import net.me.scripting.wrappers.JsClassWrapper;
+import net.me.scripting.wrappers.support.PackageNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,20 +12,25 @@ import java.util.*;
 
 public class ScriptingClassResolver {
     private static final Logger LOGGER = LoggerFactory.getLogger(ScriptingClassResolver.class);
-    private final Map<String, JsClassWrapper> wrapperCache = new WeakHashMap<>();
+    private final ClassWrapperRegistry wrapperRegistry = new ClassWrapperRegistry();
     private Map<String, String> classMap;
     private Map<String, Map<String, List<String>>> methodMap;
     private Map<String, Map<String, String>> fieldMap;
     private Map<String, String> runtimeToYarn;
-    private Set<String> knownPackagePrefixes;
+    private PackageNode packageRoot = PackageNode.root();
+    private Set<String> topLevelPackages = Set.of();
     private static final Set<String> EXCLUDED = Set.of();
 
     public ScriptingClassResolver() {
     }
 
     public void init() {
-        loadMappings();
-        precomputePackagePrefixes();
+        try (var span = StartupTracer.begin("resolver", "awaitMappings")) {
+            loadMappings();
+        }
+        try (var span = StartupTracer.begin("resolver", "buildPackageTrie")) {
+            buildPackageTrie();
+        }
     }
 
     private void loadMappings() {
@@ -35,21 +42,21 @@ public class ScriptingClassResolver {
         runtimeToYarn = mm.getRuntimeToYarnClassMap();
     }
 
-    private void precomputePackagePrefixes() {
-        knownPackagePrefixes = new HashSet<>();
-        if (classMap == null) return;
-
-        for (String fqcn : classMap.keySet()) {
-            String[] parts = fqcn.split("\\.");
-            StringBuilder currentPath = new StringBuilder();
-            for (int i = 0; i < parts.length - 1; i++) {
-                if (i > 0) {
-                    currentPath.append('.');
+    private void buildPackageTrie() {
+        PackageNode root = PackageNode.root();
+        Set<String> topLevel = new HashSet<>();
+        if (classMap != null) {
+            classMap.forEach((yarnName, runtimeName) -> {
+                root.insertClass(yarnName, runtimeName);
+                int dot = yarnName.indexOf('.');
+                if (dot > 0 && isClassInMc(yarnName)) {
+                    topLevel.add(yarnName.substring(0, dot));
                 }
-                currentPath.append(parts[i]);
-                knownPackagePrefixes.add(currentPath.toString());
-            }
+            });
         }
+        root.freeze();
+        packageRoot = root;
+        topLevelPackages = Set.copyOf(topLevel);
     }
 
     public boolean isFullClassPath(String path) {
@@ -57,7 +64,8 @@ public class ScriptingClassResolver {
     }
 
     public boolean isPackage(String path) {
-        return knownPackagePrefixes.contains(path);
+        PackageNode node = packageRoot.find(path);
+        return node != null && node.isPackage();
     }
 
     public String getRuntimeName(String yarnName) {
@@ -76,8 +84,12 @@ public class ScriptingClassResolver {
         return fieldMap;
     }
 
-    public Set<String> getKnownPackagePrefixes() {
-        return Collections.unmodifiableSet(knownPackagePrefixes);
+    public PackageNode getPackageRoot() {
+        return packageRoot;
+    }
+
+    public Set<String> getTopLevelPackages() {
+        return topLevelPackages;
     }
 
     private boolean isClassIncluded(String name) {
@@ -100,19 +112,21 @@ public class ScriptingClassResolver {
     }
 
     public JsClassWrapper getOrCreateWrapper(String runtime) {
-        return wrapperCache.computeIfAbsent(runtime, r -> {
-            try {
-                return createActualJsClassWrapper(r);
-            } catch (Exception e) {
-                LOGGER.error("Failed to create JsClassWrapper for {}", runtime, e);
-                throw new RuntimeException("Failed to create class wrapper for " + runtime, e);
-            }
-        });
+        try {
+            return wrapperRegistry.getOrCreate(runtime, this::createActualJsClassWrapper);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to create JsClassWrapper for {}", runtime, e);
+            throw e;
+        }
+    }
+
+    public ClassWrapperRegistry getWrapperRegistry() {
+        return wrapperRegistry;
     }
 
-    public JsClassWrapper createActualJsClassWrapper(String runtime) throws ClassNotFoundException {
+    private JsClassWrapper createActualJsClassWrapper(String runtime) throws ClassNotFoundException {
         Class<?> cls = Class.forName(runtime, false, getClass().getClassLoader());
         var cm = MappingUtils.combineMappings(cls, runtimeToYarn, methodMap, fieldMap);
-        return new JsClassWrapper(runtime, cm.methods(), cm.fields());
+        return new JsClassWrapper(cls, cm.methods(), cm.fields());
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package net.me.scripting.env;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Environment for running outside the game: a plain directory and an optional Tiny file on disk.
+public record DirectoryScriptEnvironment(Path modDir, boolean isDevelopment, Path mappingsFile) implements ScriptEnvironment {
+
+    @Override
+    public Reader openMappings() throws IOException {
+        if (mappingsFile == null || !Files.isRegularFile(mappingsFile)) {
+            return null;
+        }
+        return Files.newBufferedReader(mappingsFile, StandardCharsets.UTF_8);
+    }
+}
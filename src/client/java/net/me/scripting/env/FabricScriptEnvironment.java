@@ -0,0 +1,30 @@
+package net.me.scripting.env;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.me.Main;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public final class FabricScriptEnvironment implements ScriptEnvironment {
+    private static final String MAPPINGS_RESOURCE = "assets/" + Main.MOD_ID + "/mappings.tiny";
+
+    @Override
+    public Path modDir() {
+        return FabricLoader.getInstance().getGameDir().resolve(Main.MOD_ID);
+    }
+
+    @Override
+    public boolean isDevelopment() {
+        return FabricLoader.getInstance().isDevelopmentEnvironment();
+    }
+
+    @Override
+    public Reader openMappings() {
+        InputStream in = FabricScriptEnvironment.class.getClassLoader().getResourceAsStream(MAPPINGS_RESOURCE);
+        return in != null ? new InputStreamReader(in, StandardCharsets.UTF_8) : null;
+    }
+}
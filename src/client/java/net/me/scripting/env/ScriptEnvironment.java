@@ -0,0 +1,15 @@
+package net.me.scripting.env;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+
+public interface ScriptEnvironment {
+    Path modDir();
+
+    // Selects the runtime namespace: Yarn names in development, intermediary in production.
+    boolean isDevelopment();
+
+    // Returns a reader over Tiny v1 mappings, or null when the environment has none.
+    Reader openMappings() throws IOException;
+}
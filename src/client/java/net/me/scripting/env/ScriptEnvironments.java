@@ -0,0 +1,30 @@
+package net.me.scripting.env;
+
+public final class ScriptEnvironments {
+    private static volatile ScriptEnvironment current;
+
+    private ScriptEnvironments() {
+    }
+
+    public static ScriptEnvironment get() {
+        ScriptEnvironment env = current;
+        if (env == null) {
+            synchronized (ScriptEnvironments.class) {
+                env = current;
+                if (env == null) {
+                    env = new FabricScriptEnvironment();
+                    current = env;
+                }
+            }
+        }
+        return env;
+    }
+
+    // Must be called before Main or any scripting singleton is first touched; Main.MOD_DIR is read once.
+    public static synchronized void set(ScriptEnvironment environment) {
+        if (current != null && current != environment) {
+            throw new IllegalStateException("Script environment is already set to " + current.getClass().getSimpleName());
+        }
+        current = environment;
+    }
+}
@@ -0,0 +1,109 @@
+package net.me.scripting.events;
+
+import net.me.Main;
+import net.me.scripting.metrics.LatencyHistogram;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.me.scripting.module.ScriptScope;
+import net.me.scripting.utils.ScriptUtils;
+import org.graalvm.polyglot.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+// Callers in hot paths check hasListeners() first, so an event nobody subscribes to costs one volatile read.
+// Subscriptions copy the listener array; dispatch iterates a snapshot without locking.
+public final class EventHook {
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+
+    private final String name;
+    private final LatencyHistogram dispatchLatency;
+    private volatile boolean hasListeners;
+    private volatile Listener[] listeners = NO_LISTENERS;
+
+    EventHook(String name) {
+        this.name = name;
+        this.dispatchLatency = MetricsRegistry.getInstance().histogram("event." + name + ".dispatch");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean hasListeners() {
+        return hasListeners;
+    }
+
+    public int listenerCount() {
+        return listeners.length;
+    }
+
+    public synchronized Listener subscribe(String owner, Value callback) {
+        if (callback == null || !callback.canExecute()) {
+            throw new IllegalArgumentException("Listener for '" + name + "' must be a function.");
+        }
+        Listener listener = new Listener(owner, callback);
+        Listener[] current = listeners;
+        Listener[] next = new Listener[current.length + 1];
+        System.arraycopy(current, 0, next, 0, current.length);
+        next[current.length] = listener;
+        publish(next);
+        return listener;
+    }
+
+    public synchronized boolean unsubscribe(Listener listener) {
+        return removeIf(l -> l == listener);
+    }
+
+    public synchronized boolean unsubscribe(Value callback) {
+        return removeIf(l -> l.callback().equals(callback));
+    }
+
+    public synchronized void removeOwnedBy(String owner) {
+        removeIf(l -> owner.equals(l.owner()));
+    }
+
+    public synchronized void clear() {
+        publish(NO_LISTENERS);
+    }
+
+    public void dispatch(Object... args) {
+        Listener[] snapshot = listeners;
+        if (snapshot.length == 0) return;
+        long start = System.nanoTime();
+        Object[] wrapped = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            wrapped[i] = ScriptUtils.wrapReturn(args[i]);
+        }
+        for (Listener listener : snapshot) {
+            String previous = ScriptScope.enter(listener.owner());
+            try {
+                listener.callback().executeVoid(wrapped);
+            } catch (Exception e) {
+                Main.LOGGER.error("Error in '{}' listener of script '{}': {}", name, listener.owner(), e.getMessage(), e);
+            } finally {
+                ScriptScope.exit(previous);
+            }
+        }
+        dispatchLatency.record(System.nanoTime() - start);
+    }
+
+    private boolean removeIf(Predicate<Listener> filter) {
+        Listener[] current = listeners;
+        List<Listener> kept = new ArrayList<>(current.length);
+        for (Listener l : current) {
+            if (!filter.test(l)) kept.add(l);
+        }
+        if (kept.size() == current.length) return false;
+        publish(kept.toArray(NO_LISTENERS));
+        return true;
+    }
+
+    private void publish(Listener[] next) {
+        listeners = next;
+        hasListeners = next.length > 0;
+    }
+
+    public record Listener(String owner, Value callback) {
+    }
+}
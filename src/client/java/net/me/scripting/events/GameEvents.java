@@ -0,0 +1,52 @@
+package net.me.scripting.events;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class GameEvents {
+    private static final Map<String, EventHook> BY_NAME = new LinkedHashMap<>();
+
+    // Fired at the end of MinecraftClient.tick(); no arguments.
+    public static final EventHook TICK = register("tick");
+    // (drawContext, tickDelta) after the vanilla HUD has rendered.
+    public static final EventHook RENDER_HUD = register("renderHud");
+    // (plainText, text) for every message added to the chat HUD.
+    public static final EventHook CHAT = register("chat");
+    // (key, scancode, action, modifiers) as delivered by GLFW.
+    public static final EventHook KEY = register("key");
+    // (world) once the client world is set.
+    public static final EventHook JOIN_WORLD = register("joinWorld");
+    // No arguments; fired before the client drops its world.
+    public static final EventHook LEAVE_WORLD = register("leaveWorld");
+
+    private GameEvents() {
+    }
+
+    private static EventHook register(String name) {
+        EventHook hook = new EventHook(name);
+        BY_NAME.put(name, hook);
+        return hook;
+    }
+
+    public static EventHook get(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public static Collection<EventHook> all() {
+        return BY_NAME.values();
+    }
+
+    public static void removeOwnedBy(String owner) {
+        for (EventHook hook : BY_NAME.values()) {
+            hook.removeOwnedBy(owner);
+        }
+    }
+
+    // Listeners hold values of a specific context, so they must all go when that context is replaced.
+    public static void clearAll() {
+        for (EventHook hook : BY_NAME.values()) {
+            hook.clear();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package net.me.scripting.extenders;
 
 import net.me.scripting.config.ExtensionConfig;
 import net.me.scripting.config.MappedClassInfo;
+import net.me.scripting.engine.ScriptIntrinsics;
+import net.me.scripting.module.ScriptScope;
 import net.me.scripting.extenders.proxies.ExtendedInstanceProxy;
 import net.me.scripting.extenders.proxies.MappedInstanceProxy;
 import net.me.scripting.extenders.proxies.RuntimeBinderProxy;
@@ -18,14 +20,16 @@ import java.util.stream.Collectors;
 public class MappedClassExtender implements ProxyObject, ProxyInstantiable {
     private final ExtensionConfig config;
     private final Context context;
+    private final ScriptIntrinsics intrinsics;
     private final Value baseAdapterConstructor;
     private final Value parentOverrides;
     private final Value parentAddons;
     private final Value parentSuper;
 
-    public MappedClassExtender(ExtensionConfig config, Context context, Value parentOverrides, Value parentAddons, Value parentSuper) {
+    public MappedClassExtender(ExtensionConfig config, ScriptIntrinsics intrinsics, Value parentOverrides, Value parentAddons, Value parentSuper) {
         this.config = config;
-        this.context = context;
+        this.intrinsics = intrinsics;
+        this.context = intrinsics.getContext();
         this.parentOverrides = parentOverrides;
         this.parentAddons = parentAddons;
         this.parentSuper = parentSuper;
@@ -33,14 +37,12 @@ public class MappedClassExtender implements ProxyObject, ProxyInstantiable {
     }
 
     private Value createBaseAdapter() {
-        Value extendFn = context.eval("js", "Java.extend");
         List<Object> extendArgs = new ArrayList<>();
         extendArgs.add(config.extendsClass().targetClass());
-        Value typeFn = context.eval("js", "Java.type");
         for (MappedClassInfo interfaceInfo : config.implementsClasses()) {
-            extendArgs.add(typeFn.execute(interfaceInfo.targetClass().getName()));
+            extendArgs.add(intrinsics.type(interfaceInfo.targetClass().getName()));
         }
-        return extendFn.execute(extendArgs.toArray());
+        return intrinsics.extend(extendArgs.toArray());
     }
 
     @Override
@@ -58,7 +60,7 @@ public class MappedClassExtender implements ProxyObject, ProxyInstantiable {
         Map<String, Object> mergedRuntimeOverrides = new HashMap<>(parentRuntimeOverrides);
         mergedRuntimeOverrides.putAll(childRuntimeOverrides);
 
-        RuntimeBinderProxy mergedBinder = new RuntimeBinderProxy(mergedRuntimeOverrides);
+        RuntimeBinderProxy mergedBinder = new RuntimeBinderProxy(mergedRuntimeOverrides, ScriptScope.current());
 
         Object baseInstance = createBaseJavaInstanceWithBinder(parser.constructorArgs, mergedBinder);
 
@@ -92,7 +94,7 @@ public class MappedClassExtender implements ProxyObject, ProxyInstantiable {
         wrapperProperties.put("instance", new MappedInstanceProxy(baseInstance));
         wrapperProperties.put("_self", baseInstance);
 
-        Value actualGrandParentSuper = (this.parentSuper != null) ? this.parentSuper : context.eval("js", "Java.super").execute(baseInstance);
+        Value actualGrandParentSuper = (this.parentSuper != null) ? this.parentSuper : intrinsics.superOf(baseInstance);
         Map<String, List<String>> currentMethodMappings = this.config.extendsClass().methodMappings();
         wrapperProperties.put("_super", new SuperProxy(this.parentOverrides, actualGrandParentSuper, wrapperVal, currentMethodMappings));
 
@@ -230,7 +232,7 @@ public class MappedClassExtender implements ProxyObject, ProxyInstantiable {
         if (child == null || child.isNull()) {
             return parent;
         }
-        Value merged = context.eval("js", "({})");
+        Value merged = intrinsics.newObject();
         for (String key : parent.getMemberKeys()) {
             merged.putMember(key, parent.getMember(key));
         }
@@ -247,6 +249,10 @@ public class MappedClassExtender implements ProxyObject, ProxyInstantiable {
         return result;
     }
 
+    public ExtensionConfig getConfig() {
+        return config;
+    }
+
     @Override
     public Object getMember(String key) {
         return "prototype".equals(key) ? baseAdapterConstructor.getMember("prototype") : null;
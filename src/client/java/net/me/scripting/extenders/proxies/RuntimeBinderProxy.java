@@ -1,5 +1,7 @@
 package net.me.scripting.extenders.proxies;
 
+import net.me.scripting.diagnostics.ScriptProfiler;
+import net.me.scripting.module.ScriptScope;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 import org.graalvm.polyglot.proxy.ProxyObject;
@@ -8,10 +10,12 @@ import java.util.Map;
 
 public class RuntimeBinderProxy implements ProxyObject {
     private final Map<String, Object> originalOverrides;
+    private final String ownerScriptId;
     private ExtendedInstanceProxy bindingTarget;
 
-    public RuntimeBinderProxy(Map<String, Object> originalOverrides) {
+    public RuntimeBinderProxy(Map<String, Object> originalOverrides, String ownerScriptId) {
         this.originalOverrides = originalOverrides;
+        this.ownerScriptId = ownerScriptId;
     }
 
     public void setBindingTarget(ExtendedInstanceProxy bindingTarget) {
@@ -26,7 +30,17 @@ public class RuntimeBinderProxy implements ProxyObject {
                 if (bindingTarget == null) {
                     throw new IllegalStateException("Binding target not set on RuntimeBinderProxy before method invocation.");
                 }
-                return func.invokeMember("apply", bindingTarget, proxyArgs);
+                String previous = ScriptScope.enter(ownerScriptId);
+                long start = ScriptProfiler.beginHook();
+                try {
+                    return func.invokeMember("apply", bindingTarget, proxyArgs);
+                } finally {
+                    if (start != 0L) {
+                        boolean nested = ownerScriptId != null && ownerScriptId.equals(previous);
+                        ScriptProfiler.endHook(ownerScriptId, "override:" + key, start, nested);
+                    }
+                    ScriptScope.exit(previous);
+                }
             };
         }
         return member;
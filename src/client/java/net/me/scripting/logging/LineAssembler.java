@@ -0,0 +1,66 @@
+package net.me.scripting.logging;
+
+// Turns print/println entries into complete lines. Formatting happens here, on whichever thread reads the ring,
+// never on the script thread that logged.
+public final class LineAssembler implements LogRing.Reader {
+    private final LineSink sink;
+    private final StringBuilder pending = new StringBuilder();
+    private long pendingTime = -1;
+
+    public LineAssembler(LineSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void entry(LogEntry entry) {
+        for (Object part : entry.parts()) {
+            appendSplit(format(part), entry.timeMillis());
+            if (entry.newline()) flushLine(entry.timeMillis());
+        }
+    }
+
+    @Override
+    public void dropped(long count) {
+        flushPartial();
+        sink.line(System.currentTimeMillis(), "... " + count + " log entries dropped");
+    }
+
+    public void flushPartial() {
+        if (pendingTime >= 0) flushLine(pendingTime);
+    }
+
+    private void appendSplit(String text, long time) {
+        int start = 0;
+        int nl;
+        while ((nl = text.indexOf('\n', start)) >= 0) {
+            if (pendingTime < 0) pendingTime = time;
+            pending.append(text, start, nl);
+            flushLine(time);
+            start = nl + 1;
+        }
+        if (start < text.length()) {
+            if (pendingTime < 0) pendingTime = time;
+            pending.append(text, start, text.length());
+        }
+    }
+
+    private void flushLine(long fallbackTime) {
+        sink.line(pendingTime < 0 ? fallbackTime : pendingTime, pending.toString());
+        pending.setLength(0);
+        pendingTime = -1;
+    }
+
+    static String format(Object part) {
+        if (part == null) return "null";
+        if (part instanceof Double d) {
+            if (d.isNaN()) return "NaN";
+            if (d.isInfinite()) return d > 0 ? "Infinity" : "-Infinity";
+            if (d == Math.rint(d) && Math.abs(d) < 1e21) return Long.toString(d.longValue());
+        }
+        return part.toString();
+    }
+
+    public interface LineSink {
+        void line(long timeMillis, String text);
+    }
+}
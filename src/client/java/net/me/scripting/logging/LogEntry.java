@@ -0,0 +1,6 @@
+package net.me.scripting.logging;
+
+// Parts are host-side snapshots (String, Long, Double, Boolean or null) so drainers on other threads never touch
+// guest values.
+public record LogEntry(long seq, long timeMillis, Object[] parts, boolean newline) {
+}
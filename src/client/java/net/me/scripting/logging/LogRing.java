@@ -0,0 +1,71 @@
+package net.me.scripting.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded, overwriting ring. Producers claim a sequence with one getAndIncrement and publish the entry into its
+// slot; they never wait on readers. Each reader keeps its own cursor, and entries that were overwritten before a
+// reader got to them are reported as dropped.
+public final class LogRing {
+    private final String owner;
+    private final AtomicReferenceArray<LogEntry> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+
+    public LogRing(String owner, int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.owner = owner;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void append(Object[] parts, boolean newline) {
+        long seq = head.getAndIncrement();
+        slots.lazySet((int) (seq & mask), new LogEntry(seq, System.currentTimeMillis(), parts, newline));
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long head() {
+        return head.get();
+    }
+
+    public long oldest() {
+        return Math.max(0, head.get() - capacity());
+    }
+
+    // Delivers every published entry from the cursor onwards and returns the cursor to resume from. Stops at the
+    // first slot that is claimed but not yet published.
+    public long read(long cursor, Reader reader) {
+        long end = head.get();
+        while (cursor < end) {
+            LogEntry entry = slots.get((int) (cursor & mask));
+            if (entry != null && entry.seq() == cursor) {
+                reader.entry(entry);
+                cursor++;
+                continue;
+            }
+            // A newer entry in the slot, or a cursor behind the window, means the reader was lapped.
+            long oldest = oldest();
+            if (cursor < oldest) {
+                reader.dropped(oldest - cursor);
+                cursor = oldest;
+                continue;
+            }
+            break;
+        }
+        return cursor;
+    }
+
+    public interface Reader {
+        void entry(LogEntry entry);
+
+        void dropped(long count);
+    }
+}
@@ -0,0 +1,198 @@
+package net.me.scripting.logging;
+
+import net.me.Main;
+import net.me.scripting.env.ScriptEnvironments;
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.me.scripting.module.ScriptScope;
+import org.graalvm.polyglot.Value;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public final class ScriptLogs {
+    public static final String GLOBAL = "global";
+    private static final int CAPACITY = Integer.getInteger("mqs.log.capacity", 1024);
+    private static final long DRAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final Counter ENTRIES = MetricsRegistry.getInstance().counter("log.entries");
+    private static final Counter DROPPED = MetricsRegistry.getInstance().counter("log.dropped");
+
+    private static ScriptLogs instance;
+
+    private final Map<String, LogRing> rings = new ConcurrentHashMap<>();
+    private final Map<String, FileDrain> drains = new HashMap<>();
+    private final Path logDir;
+    private final boolean echoToLog;
+    private volatile Thread drainer;
+
+    private ScriptLogs() {
+        this.logDir = Main.MOD_DIR.resolve("logs");
+        this.echoToLog = ScriptEnvironments.get().isDevelopment();
+    }
+
+    public static synchronized ScriptLogs getInstance() {
+        if (instance == null) instance = new ScriptLogs();
+        return instance;
+    }
+
+    // Hot path for print/println: snapshot the arguments and publish; no string building here.
+    public void append(Value[] args, boolean newline) {
+        String owner = ScriptScope.current();
+        Object[] parts = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            parts[i] = snapshot(args[i]);
+        }
+        ring(owner != null ? owner : GLOBAL).append(parts, newline);
+        ENTRIES.increment();
+    }
+
+    public LogRing ring(String owner) {
+        LogRing ring = rings.get(owner);
+        if (ring == null) {
+            ring = rings.computeIfAbsent(owner, id -> new LogRing(id, CAPACITY));
+            ensureDrainer();
+        }
+        return ring;
+    }
+
+    public LogRing find(String owner) {
+        return rings.get(owner);
+    }
+
+    public List<String> owners() {
+        List<String> owners = new ArrayList<>(rings.keySet());
+        owners.sort(String.CASE_INSENSITIVE_ORDER);
+        return owners;
+    }
+
+    // Strings, numbers and booleans are copied as-is; anything else is a guest object that can only be read on
+    // this thread, so it is stringified now.
+    private static Object snapshot(Value value) {
+        if (value == null || value.isNull()) return null;
+        if (value.isString()) return value.asString();
+        if (value.isNumber()) return value.fitsInLong() ? (Object) value.asLong() : (Object) value.asDouble();
+        if (value.isBoolean()) return value.asBoolean();
+        return value.toString();
+    }
+
+    private void ensureDrainer() {
+        if (drainer != null) return;
+        synchronized (this) {
+            if (drainer != null) return;
+            Thread thread = new Thread(this::drainLoop, "MQS-LogDrainer");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::drainAndClose, "MQS-LogDrainer-Shutdown"));
+            drainer = thread;
+        }
+    }
+
+    private void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            drain();
+        }
+    }
+
+    public synchronized void drain() {
+        for (LogRing ring : rings.values()) {
+            FileDrain drain = drains.computeIfAbsent(ring.owner(), owner -> new FileDrain(ring));
+            drain.pump();
+        }
+    }
+
+    private synchronized void drainAndClose() {
+        drain();
+        drains.values().forEach(FileDrain::close);
+        drains.clear();
+    }
+
+    private static String fileName(String owner) {
+        return owner.replaceAll("[^A-Za-z0-9._-]", "_") + ".log";
+    }
+
+    private final class FileDrain implements LogRing.Reader, LineAssembler.LineSink {
+        private final LogRing ring;
+        private final LineAssembler assembler = new LineAssembler(this);
+        private long cursor;
+        private BufferedWriter writer;
+        private boolean failed;
+
+        FileDrain(LogRing ring) {
+            this.ring = ring;
+        }
+
+        void pump() {
+            long before = cursor;
+            cursor = ring.read(cursor, this);
+            if (cursor == before || writer == null) return;
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void entry(LogEntry entry) {
+            assembler.entry(entry);
+        }
+
+        @Override
+        public void dropped(long count) {
+            DROPPED.add(count);
+            assembler.dropped(count);
+        }
+
+        @Override
+        public void line(long timeMillis, String text) {
+            String formatted = "[" + TIME.format(Instant.ofEpochMilli(timeMillis)) + "] " + text;
+            if (echoToLog) Main.LOGGER.info("[{}] {}", ring.owner(), text);
+            if (failed) return;
+            try {
+                if (writer == null) {
+                    Files.createDirectories(logDir);
+                    writer = Files.newBufferedWriter(logDir.resolve(fileName(ring.owner())), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                writer.write(formatted);
+                writer.newLine();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(IOException e) {
+            failed = true;
+            Main.LOGGER.error("Disabling log file for script '{}': {}", ring.owner(), e.getMessage());
+            close();
+        }
+
+        void close() {
+            assembler.flushPartial();
+            if (writer == null) return;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                Main.LOGGER.warn("Failed to close log file for script '{}'", ring.owner(), e);
+            }
+            writer = null;
+        }
+    }
+}
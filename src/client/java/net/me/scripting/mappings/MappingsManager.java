@@ -1,16 +1,15 @@
 package net.me.scripting.mappings;
 
-import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.impl.lib.mappingio.format.tiny.Tiny1FileReader;
 import net.fabricmc.loader.impl.lib.mappingio.tree.MemoryMappingTree;
-import net.me.Main;
+import net.me.scripting.diagnostics.StartupTracer;
+import net.me.scripting.env.ScriptEnvironment;
+import net.me.scripting.env.ScriptEnvironments;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.Reader;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -57,8 +56,13 @@ public class MappingsManager {
             LOGGER.info("Starting asynchronous mappings initialization...");
             executor.submit(() -> {
                 try {
-                    parseMappings();
-                    buildLookupTables();
+                    ScriptEnvironment env = ScriptEnvironments.get();
+                    try (var span = StartupTracer.begin("mappings", "parseMappings")) {
+                        parseMappings(env);
+                    }
+                    try (var span = StartupTracer.begin("mappings", "buildLookupTables")) {
+                        buildLookupTables(env.isDevelopment());
+                    }
                     mappingsTree = null;
                     LOGGER.info("Mappings tree memory released after successful parsing and table building.");
                     initializationFuture.complete(null);
@@ -73,27 +77,38 @@ public class MappingsManager {
         }
     }
 
-    private void parseMappings() {
+    public void initFrom(Reader tinyReader, boolean development) throws IOException {
+        if (!initializationStarted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Mappings are already initialized or being initialized.");
+        }
+        try {
+            Tiny1FileReader.read(tinyReader, mappingsTree);
+            buildLookupTables(development);
+            mappingsTree = null;
+            initializationFuture.complete(null);
+        } catch (IOException | RuntimeException e) {
+            initializationFuture.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void parseMappings(ScriptEnvironment env) {
         if (mappingsTree == null) {
             LOGGER.error("parseMappings called but mappingsTree is null. This should not happen with the init() guard.");
             mappingsTree = new MemoryMappingTree();
         }
-        String fileName = "mappings.tiny";
-        try (InputStream in = MappingsManager.class.getClassLoader()
-                .getResourceAsStream("assets/" + Main.MOD_ID + "/" + fileName)) {
-            if (in == null) {
-                LOGGER.warn("Mappings file {} not found in resources", fileName);
+        try (Reader reader = env.openMappings()) {
+            if (reader == null) {
+                LOGGER.warn("No mappings provided by environment {}", env.getClass().getSimpleName());
                 return;
             }
-            InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
             Tiny1FileReader.read(reader, mappingsTree);
         } catch (IOException e) {
-            LOGGER.error("Error parsing mappings file {}: {}", fileName, e.getMessage(), e);
+            LOGGER.error("Error parsing mappings: {}", e.getMessage(), e);
         }
     }
 
-    private void buildLookupTables() {
-        boolean isDev = FabricLoader.getInstance().isDevelopmentEnvironment();
+    private void buildLookupTables(boolean isDev) {
         @SuppressWarnings("unused")
         int officialId = mappingsTree.getNamespaceId(MappingNames.OFFICIAL.getName());
         int intermediaryId = mappingsTree.getNamespaceId(MappingNames.INTERMEDIARY.getName());
@@ -0,0 +1,58 @@
+package net.me.scripting.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+public final class MetricsRegistry {
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    // Re-registering a gauge replaces the previous supplier, e.g. after the script context is rebuilt.
+    public void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    // Flattens everything into name -> value; histograms expand into count/mean/percentiles in microseconds.
+    public SortedMap<String, Number> values() {
+        SortedMap<String, Number> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> {
+            try {
+                values.put(name, gauge.getAsDouble());
+            } catch (RuntimeException e) {
+                values.put(name, Double.NaN);
+            }
+        });
+        histograms.forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            values.put(name + ".count", s.count());
+            values.put(name + ".meanUs", s.meanNanos() / 1_000.0);
+            values.put(name + ".p50Us", s.p50Nanos() / 1_000.0);
+            values.put(name + ".p90Us", s.p90Nanos() / 1_000.0);
+            values.put(name + ".p99Us", s.p99Nanos() / 1_000.0);
+            values.put(name + ".maxUs", s.maxNanos() / 1_000.0);
+        });
+        return values;
+    }
+}
@@ -0,0 +1,93 @@
+package net.me.scripting.metrics;
+
+import net.me.Main;
+import net.me.scripting.engine.ClassWrapperRegistry;
+import net.me.scripting.wrappers.support.FieldLookup;
+import net.me.scripting.wrappers.support.LookupStats;
+import net.me.scripting.wrappers.support.MethodLookup;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public final class ScriptingMetrics {
+    public static final String JMX_NAME = "net.me.mqs:type=ScriptingMetrics";
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+    public static final Counter OBJECT_WRAPPERS_CREATED = REGISTRY.counter("wrappers.object.created");
+    public static final Counter CONTEXTS_CREATED = REGISTRY.counter("contexts.created");
+    public static final Counter SOURCES_COMPILED = REGISTRY.counter("sources.compiled");
+    public static final Counter SOURCES_FAILED = REGISTRY.counter("sources.failed");
+
+    private static final AtomicInteger LIVE_CONTEXTS = new AtomicInteger();
+    private static final Map<String, LatencyHistogram> HOOK_LATENCY = new ConcurrentHashMap<>();
+    private static boolean jmxRegistered;
+    // Hook timing costs two clock reads per hook, so it is opt-in (-Dmqs.metrics.hookLatency=true).
+    private static volatile boolean hookLatencyEnabled = Boolean.getBoolean("mqs.metrics.hookLatency");
+
+    static {
+        registerLookupGauges("lookup.method", MethodLookup::stats);
+        REGISTRY.gauge("lookup.field.found", () -> FieldLookup.stats().found());
+        REGISTRY.gauge("lookup.field.notFound", () -> FieldLookup.stats().notFound());
+        REGISTRY.gauge("contexts.alive", LIVE_CONTEXTS::get);
+    }
+
+    private ScriptingMetrics() {
+    }
+
+    public static void contextCreated() {
+        CONTEXTS_CREATED.increment();
+        LIVE_CONTEXTS.incrementAndGet();
+    }
+
+    public static void contextClosed() {
+        LIVE_CONTEXTS.decrementAndGet();
+    }
+
+    public static boolean isHookLatencyEnabled() {
+        return hookLatencyEnabled;
+    }
+
+    public static void setHookLatencyEnabled(boolean enabled) {
+        hookLatencyEnabled = enabled;
+    }
+
+    public static LatencyHistogram hookLatency(String hookName) {
+        return HOOK_LATENCY.computeIfAbsent(hookName, name -> REGISTRY.histogram("hook." + name + ".latency"));
+    }
+
+    public static void bindWrapperRegistry(ClassWrapperRegistry wrapperRegistry) {
+        REGISTRY.gauge("wrappers.class.cached", () -> wrapperRegistry.stats().size());
+        REGISTRY.gauge("wrappers.class.created", () -> wrapperRegistry.stats().misses());
+        REGISTRY.gauge("wrappers.class.failures", () -> wrapperRegistry.stats().failures());
+        REGISTRY.gauge("wrappers.class.hitRate", () -> wrapperRegistry.stats().hitRate());
+    }
+
+    public static synchronized void registerJmx() {
+        if (jmxRegistered) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MetricsMBean(REGISTRY), name);
+            }
+            jmxRegistered = true;
+        } catch (JMException | RuntimeException e) {
+            Main.LOGGER.warn("Could not register scripting metrics MBean: {}", e.getMessage());
+        }
+    }
+
+    private static void registerLookupGauges(String prefix, Supplier<LookupStats.Snapshot> stats) {
+        REGISTRY.gauge(prefix + ".hits", () -> stats.get().hits());
+        REGISTRY.gauge(prefix + ".misses", () -> stats.get().misses());
+        REGISTRY.gauge(prefix + ".hitRate", () -> stats.get().hitRate());
+        REGISTRY.gauge(prefix + ".tables", () -> stats.get().tables());
+        REGISTRY.gauge(prefix + ".entries", () -> stats.get().entries());
+        REGISTRY.gauge(prefix + ".evictions", () -> stats.get().evictions());
+    }
+}
@@ -1,6 +1,8 @@
 package net.me.scripting.module;
 
 import net.me.Main;
+import net.me.scripting.diagnostics.ScriptProfiler;
+import net.me.scripting.metrics.ScriptingMetrics;
 import org.graalvm.polyglot.Value;
 
 public class RunningScript {
@@ -20,22 +22,37 @@ public class RunningScript {
     }
 
     public void onEnable() {
-        if (jsInstance.hasMember("onEnable")) {
-            try {
-                jsInstance.getMember("onEnable").execute();
-            } catch (Exception e) {
-                Main.LOGGER.error("Error enabling script '{}': {}", name, e.getMessage(), e);
-            }
-        }
+        invokeHook("onEnable");
     }
 
     public void onDisable() {
-        if (jsInstance.hasMember("onDisable")) {
-            try {
-                jsInstance.getMember("onDisable").execute();
-            } catch (Exception e) {
-                Main.LOGGER.error("Error disabling script '{}': {}", name, e.getMessage(), e);
+        invokeHook("onDisable");
+    }
+
+    public boolean hasHook(String hookName) {
+        return jsInstance.hasMember(hookName);
+    }
+
+    public void invokeHook(String hookName, Object... args) {
+        if (!jsInstance.hasMember(hookName)) {
+            return;
+        }
+        String scriptId = descriptor.getId();
+        String previous = ScriptScope.enter(scriptId);
+        boolean profiling = ScriptProfiler.isEnabled();
+        boolean timed = ScriptingMetrics.isHookLatencyEnabled();
+        long start = profiling || timed ? System.nanoTime() : 0L;
+        try {
+            jsInstance.invokeMember(hookName, args);
+        } catch (Exception e) {
+            Main.LOGGER.error("Error in '{}' of script '{}': {}", hookName, name, e.getMessage(), e);
+        } finally {
+            if (start != 0L) {
+                long elapsed = System.nanoTime() - start;
+                if (timed) ScriptingMetrics.hookLatency(hookName).record(elapsed);
+                if (profiling) ScriptProfiler.recordHook(scriptId, hookName, elapsed, scriptId.equals(previous));
             }
+            ScriptScope.exit(previous);
         }
     }
 
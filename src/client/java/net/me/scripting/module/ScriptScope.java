@@ -0,0 +1,24 @@
+package net.me.scripting.module;
+
+public final class ScriptScope {
+    private static final ThreadLocal<String[]> CURRENT = ThreadLocal.withInitial(() -> new String[1]);
+
+    private ScriptScope() {
+    }
+
+    public static String current() {
+        return CURRENT.get()[0];
+    }
+
+    // Returns the previously active script id, which must be handed back to exit().
+    public static String enter(String scriptId) {
+        String[] slot = CURRENT.get();
+        String previous = slot[0];
+        slot[0] = scriptId;
+        return previous;
+    }
+
+    public static void exit(String previous) {
+        CURRENT.get()[0] = previous;
+    }
+}
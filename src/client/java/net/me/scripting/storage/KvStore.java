@@ -0,0 +1,444 @@
+package net.me.scripting.storage;
+
+import net.me.Main;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Append-only log of records, memory-mapped and indexed in memory:
+//   int crc32 | int keyLength | int valueLength (-1 = removed) | key (UTF-8) | value
+// The CRC covers everything after itself. Every flushed batch ends with a commit record (keyLength 0) holding the
+// batch's record count and the CRC of its bytes. Recovery only applies batches whose commit verifies and zeroes
+// everything after the last one, so a batch torn by a crash is dropped as a whole. Each compaction writes the live
+// records plus a commit into the next generation file and switches over on the owning thread; the old generation
+// is deleted once it is unmapped.
+public final class KvStore {
+    static final int HEADER = 12;
+    private static final int REMOVED_LENGTH = -1;
+    private static final int COMMIT_KEY_LENGTH = 0;
+    private static final int COMMIT_PAYLOAD = 8;
+    private static final int MAX_KEY_BYTES = 1024;
+    private static final int MIN_MAP = 64 * 1024;
+    private static final int COMPACT_MIN_BYTES = 1 << 20;
+    private static final byte[] REMOVED = new byte[0];
+
+    private final String namespace;
+    private final Path dir;
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private int end;
+    private long liveBytes;
+    private Map<String, Slot> index = new HashMap<>();
+    private final Map<String, byte[]> pending = new LinkedHashMap<>();
+    private Compaction compaction;
+    private boolean dirty;
+    private boolean syncScheduled;
+
+    private KvStore(String namespace, Path dir) {
+        this.namespace = namespace;
+        this.dir = dir;
+    }
+
+    public static KvStore open(String namespace, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        KvStore store = new KvStore(namespace, dir);
+        store.recover();
+        return store;
+    }
+
+    public String namespace() {
+        return namespace;
+    }
+
+    // Read-only view straight into the mapping; values still waiting for the next flush are served from a copy.
+    // Views stay valid after later writes and compaction, they just keep showing the value they were read at.
+    public synchronized ByteBuffer get(String key) {
+        byte[] staged = pending.get(key);
+        if (staged == REMOVED) return null;
+        if (staged != null) return ByteBuffer.allocateDirect(staged.length).put(staged).flip().asReadOnlyBuffer();
+        Slot slot = index.get(key);
+        if (slot == null) return null;
+        return map.slice(slot.valueOffset(), slot.valueLength()).asReadOnlyBuffer();
+    }
+
+    public synchronized boolean contains(String key) {
+        byte[] staged = pending.get(key);
+        if (staged != null) return staged != REMOVED;
+        return index.containsKey(key);
+    }
+
+    public synchronized void put(String key, byte[] value) {
+        checkKey(key);
+        pending.put(key, value);
+    }
+
+    public synchronized void remove(String key) {
+        checkKey(key);
+        if (index.containsKey(key)) {
+            pending.put(key, REMOVED);
+        } else {
+            pending.remove(key);
+        }
+    }
+
+    public synchronized List<String> keys() {
+        Set<String> keys = new TreeSet<>(index.keySet());
+        pending.forEach((key, value) -> {
+            if (value == REMOVED) keys.remove(key);
+            else keys.add(key);
+        });
+        return new ArrayList<>(keys);
+    }
+
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    // Appends the batch staged since the last flush followed by its commit record. The data reaches the page cache
+    // here; getting it to disk is left to scheduleSync so the caller's thread never waits on msync.
+    // All or nothing: space for the whole batch is reserved up front, and end, the index and pending only change once
+    // the commit is written, so a failed flush leaves the store as it was and the next one rewrites the same batch.
+    public synchronized int flush() throws IOException {
+        int written = pending.size();
+        if (written == 0) return 0;
+        List<byte[]> keys = new ArrayList<>(written);
+        long total = HEADER + COMMIT_PAYLOAD;
+        for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+            byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            keys.add(keyBytes);
+            total += HEADER + keyBytes.length + (entry.getValue() == REMOVED ? 0 : entry.getValue().length);
+        }
+        int batchStart = end;
+        ensureCapacity(batchStart + total);
+
+        int[] lengths = new int[written];
+        int pos = batchStart;
+        try {
+            int i = 0;
+            for (byte[] value : pending.values()) {
+                lengths[i] = writeRecord(pos, keys.get(i), value == REMOVED ? null : value);
+                pos += lengths[i++];
+            }
+            writeCommit(map, pos, written, batchChecksum(map, batchStart, pos - batchStart));
+        } catch (RuntimeException | Error e) {
+            clearRange(batchStart, pos);
+            throw e;
+        }
+
+        for (int i = 0, record = batchStart; i < written; record += lengths[i++]) {
+            index(record, lengths[i]);
+        }
+        end = pos + HEADER + COMMIT_PAYLOAD;
+        pending.clear();
+        dirty = true;
+        return written;
+    }
+
+    // Forces the mapping on executor if anything was flushed since the last sync; at most one sync is queued at a time.
+    public synchronized void scheduleSync(Executor executor) {
+        if (!dirty || syncScheduled) return;
+        dirty = false;
+        syncScheduled = true;
+        MappedByteBuffer target = map;
+        executor.execute(() -> {
+            try {
+                target.force();
+            } catch (RuntimeException e) {
+                Main.LOGGER.error("Failed to sync storage '{}'", namespace, e);
+                synchronized (this) {
+                    dirty = true;
+                }
+            } finally {
+                synchronized (this) {
+                    syncScheduled = false;
+                }
+            }
+        });
+    }
+
+    public synchronized boolean shouldCompact() {
+        return compaction == null && end > COMPACT_MIN_BYTES && end - liveBytes > liveBytes;
+    }
+
+    public synchronized void startCompaction(Executor executor) {
+        if (compaction != null) return;
+        ByteBuffer source = map.duplicate();
+        List<Slot> live = new ArrayList<>(index.values());
+        live.sort(Comparator.comparingInt(Slot::offset));
+        Path target = generationFile(generation + 1);
+        int snapshotEnd = end;
+        CompletableFuture<Integer> written = CompletableFuture.supplyAsync(() -> writeCompacted(source, live, target), executor);
+        compaction = new Compaction(snapshotEnd, target, written);
+    }
+
+    // Called from the owning thread; switches to the compacted generation once the background copy is done.
+    public synchronized boolean finishCompaction() throws IOException {
+        Compaction running = compaction;
+        if (running == null || !running.written().isDone()) return false;
+        compaction = null;
+        int compactedEnd;
+        try {
+            compactedEnd = running.written().join();
+        } catch (RuntimeException e) {
+            Main.LOGGER.error("Compaction of storage '{}' failed", namespace, e);
+            Files.deleteIfExists(tempFile(running.target()));
+            return false;
+        }
+
+        // Records appended while the copy ran are carried over verbatim, then replayed to rebuild the index.
+        Path temp = tempFile(running.target());
+        int tailLength = end - running.snapshotEnd();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer tail = map.slice(running.snapshotEnd(), tailLength);
+            long position = compactedEnd;
+            while (tail.hasRemaining()) {
+                position += out.write(tail, position);
+            }
+            out.force(true);
+        }
+        Files.move(temp, running.target(), StandardCopyOption.ATOMIC_MOVE);
+
+        long previous = generation;
+        channel.close();
+        generation++;
+        mapGeneration();
+        replay(compactedEnd + tailLength);
+        deleteGenerationsBefore(generation, previous);
+        return true;
+    }
+
+    public synchronized void close() throws IOException {
+        flush();
+        map.force();
+        dirty = false;
+        channel.close();
+    }
+
+    private void recover() throws IOException {
+        long newest = -1;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                long gen = parseGeneration(file.getFileName().toString());
+                if (gen > newest) newest = gen;
+                if (file.getFileName().toString().endsWith(".tmp")) Files.deleteIfExists(file);
+            }
+        }
+        generation = Math.max(0, newest);
+        mapGeneration();
+        replay(map.capacity());
+        deleteGenerationsBefore(generation, generation - 1);
+    }
+
+    private void mapGeneration() throws IOException {
+        channel = FileChannel.open(generationFile(generation), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("Storage file for '" + namespace + "' is too large: " + size);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(MIN_MAP, (int) size));
+        index = new HashMap<>();
+        liveBytes = 0;
+        end = 0;
+    }
+
+    private void replay(int limit) {
+        int pos = 0;
+        int committed = 0;
+        List<int[]> batch = new ArrayList<>();
+        int length;
+        while ((length = recordLength(map, pos, limit)) > 0) {
+            if (map.getInt(pos + 4) == COMMIT_KEY_LENGTH) {
+                if (!commitMatches(pos, committed, batch.size())) break;
+                for (int[] record : batch) {
+                    index(record[0], record[1]);
+                }
+                batch.clear();
+                committed = pos + length;
+            } else {
+                batch.add(new int[]{pos, length});
+            }
+            pos += length;
+        }
+        end = committed;
+        pos = committed;
+        if (limit == map.capacity() && hasBytesAfter(pos)) {
+            Main.LOGGER.warn("Storage '{}' had a damaged tail at byte {}; discarding it.", namespace, pos);
+            byte[] zeros = new byte[8192];
+            for (int i = pos; i < map.capacity(); i += zeros.length) {
+                map.put(i, zeros, 0, Math.min(zeros.length, map.capacity() - i));
+            }
+            map.force();
+        }
+    }
+
+    private boolean hasBytesAfter(int pos) {
+        int i = pos;
+        for (; i + Long.BYTES <= map.capacity(); i += Long.BYTES) {
+            if (map.getLong(i) != 0) return true;
+        }
+        for (; i < map.capacity(); i++) {
+            if (map.get(i) != 0) return true;
+        }
+        return false;
+    }
+
+    private void index(int pos, int length) {
+        int keyLength = map.getInt(pos + 4);
+        int valueLength = map.getInt(pos + 8);
+        byte[] keyBytes = new byte[keyLength];
+        map.get(pos + HEADER, keyBytes);
+        String key = new String(keyBytes, StandardCharsets.UTF_8);
+        Slot old = valueLength == REMOVED_LENGTH
+                ? index.remove(key)
+                : index.put(key, new Slot(pos, length, pos + HEADER + keyLength, valueLength));
+        if (old != null) liveBytes -= old.length();
+        if (valueLength != REMOVED_LENGTH) liveBytes += length;
+    }
+
+    private boolean commitMatches(int commitPos, int batchStart, int count) {
+        return map.getInt(commitPos + HEADER) == count
+                && map.getInt(commitPos + HEADER + 4) == batchChecksum(map, batchStart, commitPos - batchStart);
+    }
+
+    private static void writeCommit(ByteBuffer buffer, int pos, int count, int batchCrc) {
+        buffer.putInt(pos + 4, COMMIT_KEY_LENGTH);
+        buffer.putInt(pos + 8, COMMIT_PAYLOAD);
+        buffer.putInt(pos + HEADER, count);
+        buffer.putInt(pos + HEADER + 4, batchCrc);
+        buffer.putInt(pos, checksum(buffer, pos, HEADER + COMMIT_PAYLOAD));
+    }
+
+    // Writes one record at pos without touching end or the index; the caller has reserved the space.
+    private int writeRecord(int pos, byte[] keyBytes, byte[] value) {
+        int valueLength = value == null ? REMOVED_LENGTH : value.length;
+        int total = HEADER + keyBytes.length + Math.max(0, valueLength);
+        map.putInt(pos + 4, keyBytes.length);
+        map.putInt(pos + 8, valueLength);
+        map.put(pos + HEADER, keyBytes);
+        if (value != null) map.put(pos + HEADER + keyBytes.length, value);
+        map.putInt(pos, checksum(map, pos, total));
+        return total;
+    }
+
+    // Best effort: an uncommitted partial batch is ignored by replay anyway, this just keeps it from lingering.
+    private void clearRange(int from, int to) {
+        try {
+            byte[] zeros = new byte[Math.min(8192, Math.max(0, to - from))];
+            for (int i = from; i < to; i += zeros.length) {
+                map.put(i, zeros, 0, Math.min(zeros.length, to - i));
+            }
+        } catch (RuntimeException | Error ignored) {
+        }
+    }
+
+    private void ensureCapacity(long needed) throws IOException {
+        if (needed <= map.capacity()) return;
+        if (needed > Integer.MAX_VALUE - 8) throw new IOException("Storage '" + namespace + "' is full");
+        long grown = Math.min(Integer.MAX_VALUE - 8, Math.max(needed, (long) map.capacity() * 2));
+        // The old mapping stays valid for any buffers already handed out; it is unmapped once unreachable.
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, grown);
+    }
+
+    private static int recordLength(ByteBuffer buffer, int pos, int limit) {
+        if (pos < 0 || (long) pos + HEADER > limit) return -1;
+        int keyLength = buffer.getInt(pos + 4);
+        int valueLength = buffer.getInt(pos + 8);
+        if (keyLength == COMMIT_KEY_LENGTH) {
+            if (valueLength != COMMIT_PAYLOAD) return -1;
+        } else if (keyLength < 0 || keyLength > MAX_KEY_BYTES || valueLength < REMOVED_LENGTH) {
+            return -1;
+        }
+        long total = (long) HEADER + keyLength + Math.max(0, valueLength);
+        if (pos + total > limit) return -1;
+        return buffer.getInt(pos) == checksum(buffer, pos, (int) total) ? (int) total : -1;
+    }
+
+    private static int checksum(ByteBuffer buffer, int pos, int total) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(pos + 4, total - 4));
+        return (int) crc.getValue();
+    }
+
+    private static int batchChecksum(ByteBuffer buffer, int pos, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(pos, length));
+        return (int) crc.getValue();
+    }
+
+    private static int writeCompacted(ByteBuffer source, List<Slot> live, Path target) {
+        Path temp = tempFile(target);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            CRC32 batchCrc = new CRC32();
+            for (Slot slot : live) {
+                ByteBuffer record = source.slice(slot.offset(), slot.length());
+                batchCrc.update(record.duplicate());
+                while (record.hasRemaining()) {
+                    position += out.write(record, position);
+                }
+            }
+            ByteBuffer commit = ByteBuffer.allocate(HEADER + COMMIT_PAYLOAD);
+            writeCommit(commit, 0, live.size(), (int) batchCrc.getValue());
+            while (commit.hasRemaining()) {
+                position += out.write(commit, position);
+            }
+            out.force(true);
+            return (int) position;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write compacted storage to " + temp, e);
+        }
+    }
+
+    private void deleteGenerationsBefore(long current, long newestOld) {
+        for (long gen = newestOld; gen >= 0 && gen < current; gen--) {
+            Path file = generationFile(gen);
+            try {
+                if (!Files.deleteIfExists(file)) break;
+            } catch (IOException e) {
+                // Still mapped on some platforms; it is retried the next time the store is opened.
+                break;
+            }
+        }
+    }
+
+    private Path generationFile(long gen) {
+        return dir.resolve(gen + ".kv");
+    }
+
+    private static Path tempFile(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    private static long parseGeneration(String fileName) {
+        if (!fileName.endsWith(".kv")) return -1;
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void checkKey(String key) {
+        int length = key.getBytes(StandardCharsets.UTF_8).length;
+        if (length == 0 || length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Storage keys must be 1-" + MAX_KEY_BYTES + " bytes, got " + length);
+        }
+    }
+
+    private record Slot(int offset, int length, int valueOffset, int valueLength) {
+    }
+
+    private record Compaction(int snapshotEnd, Path target, CompletableFuture<Integer> written) {
+    }
+}
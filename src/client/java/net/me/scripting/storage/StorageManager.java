@@ -0,0 +1,98 @@
+package net.me.scripting.storage;
+
+import net.me.Main;
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.LatencyHistogram;
+import net.me.scripting.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// One KvStore per script id under MOD_DIR/storage. Puts are staged in memory and appended once per tick; msync runs
+// on a background thread, and compaction copies live records on another one and switches over on a later tick.
+public final class StorageManager {
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+    private static final Counter RECORDS_WRITTEN = REGISTRY.counter("storage.records.written");
+    private static final Counter COMPACTIONS = REGISTRY.counter("storage.compactions");
+    private static final LatencyHistogram FLUSH_LATENCY = REGISTRY.histogram("storage.flush.latency");
+
+    private static StorageManager instance;
+
+    private final Map<String, KvStore> stores = new HashMap<>();
+    private final Path root;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "MQS-StorageCompactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService syncer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "MQS-StorageSync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private StorageManager() {
+        this.root = Main.MOD_DIR.resolve("storage");
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll, "MQS-StorageShutdown"));
+    }
+
+    public static synchronized StorageManager getInstance() {
+        if (instance == null) instance = new StorageManager();
+        return instance;
+    }
+
+    public synchronized KvStore store(String namespace) {
+        KvStore store = stores.get(namespace);
+        if (store == null) {
+            try {
+                store = KvStore.open(namespace, root.resolve(directoryName(namespace)));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open storage for script '" + namespace + "': " + e.getMessage(), e);
+            }
+            stores.put(namespace, store);
+        }
+        return store;
+    }
+
+    public synchronized void tick() {
+        if (stores.isEmpty()) return;
+        for (KvStore store : stores.values()) {
+            try {
+                if (store.hasPending()) {
+                    long start = System.nanoTime();
+                    RECORDS_WRITTEN.add(store.flush());
+                    FLUSH_LATENCY.record(System.nanoTime() - start);
+                }
+                store.scheduleSync(syncer);
+                if (store.finishCompaction()) {
+                    COMPACTIONS.increment();
+                } else if (store.shouldCompact()) {
+                    store.startCompaction(compactor);
+                }
+            } catch (IOException e) {
+                Main.LOGGER.error("Failed to write storage for script '{}'", store.namespace(), e);
+            }
+        }
+    }
+
+    public synchronized void closeAll() {
+        for (KvStore store : stores.values()) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                Main.LOGGER.error("Failed to close storage for script '{}'", store.namespace(), e);
+            }
+        }
+        stores.clear();
+    }
+
+    // Also used for the per-script io directories; "." and ".." would resolve outside the parent, so they are escaped.
+    public static String directoryName(String namespace) {
+        String name = namespace.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.equals(".") || name.equals("..") ? name.replace('.', '_') : name;
+    }
+}
@@ -0,0 +1,104 @@
+package net.me.scripting.utils;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+public final class ClassMemberIndex {
+    private static final ClassValue<ClassMemberIndex> INDEXES = new ClassValue<>() {
+        @Override
+        protected ClassMemberIndex computeValue(Class<?> type) {
+            return new ClassMemberIndex(type);
+        }
+    };
+
+    private final Map<String, List<Method>> instanceMethods;
+    private final Map<String, List<Method>> staticMethods;
+    private final Map<String, Field> fields;
+
+    private ClassMemberIndex(Class<?> cls) {
+        this.instanceMethods = new HashMap<>();
+        this.staticMethods = new HashMap<>();
+        this.fields = new HashMap<>();
+        indexMethods(cls);
+        indexFields(cls);
+        freeze(instanceMethods);
+        freeze(staticMethods);
+    }
+
+    public static ClassMemberIndex of(Class<?> cls) {
+        return INDEXES.get(cls);
+    }
+
+    public List<Method> methods(String name, boolean isStatic) {
+        List<Method> found = (isStatic ? staticMethods : instanceMethods).get(name);
+        return found != null ? found : Collections.emptyList();
+    }
+
+    public boolean hasMethod(String name, boolean isStatic) {
+        return (isStatic ? staticMethods : instanceMethods).containsKey(name);
+    }
+
+    public Field field(String name) {
+        return fields.get(name);
+    }
+
+    private record Signature(String name, List<Class<?>> parameterTypes) {
+    }
+
+    // Breadth-first over superclasses and interfaces, so the closest declaration of a signature wins.
+    private void indexMethods(Class<?> cls) {
+        Set<Signature> seenSignatures = new HashSet<>();
+        Queue<Class<?>> toSearch = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        toSearch.add(cls);
+
+        while (!toSearch.isEmpty()) {
+            Class<?> current = toSearch.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+
+            for (Method m : current.getDeclaredMethods()) {
+                // Only an indexed declaration hides the same signature further up; an inaccessible one must not.
+                Signature signature = new Signature(m.getName(), List.of(m.getParameterTypes()));
+                if (seenSignatures.contains(signature) || !makeAccessible(m)) {
+                    continue;
+                }
+                seenSignatures.add(signature);
+                var target = Modifier.isStatic(m.getModifiers()) ? staticMethods : instanceMethods;
+                target.computeIfAbsent(m.getName(), k -> new ArrayList<>(1)).add(m);
+            }
+
+            if (current.getSuperclass() != null) {
+                toSearch.add(current.getSuperclass());
+            }
+            toSearch.addAll(Arrays.asList(current.getInterfaces()));
+        }
+    }
+
+    private void indexFields(Class<?> cls) {
+        for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (!fields.containsKey(f.getName()) && makeAccessible(f)) {
+                    fields.put(f.getName(), f);
+                }
+            }
+        }
+    }
+
+    // Members of modules that are not open to us are only kept when they are already public.
+    private static boolean makeAccessible(AccessibleObject member) {
+        if (member.trySetAccessible()) {
+            return true;
+        }
+        int modifiers = member instanceof Method m ? m.getModifiers() : ((Field) member).getModifiers();
+        return Modifier.isPublic(modifiers);
+    }
+
+    private static void freeze(Map<String, List<Method>> methods) {
+        methods.replaceAll((name, list) -> List.copyOf(list));
+    }
+}
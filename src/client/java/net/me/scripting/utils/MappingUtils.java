@@ -4,6 +4,9 @@ import java.util.*;
 
 public final class MappingUtils {
 
+    private static final ClassMappings EMPTY = new ClassMappings(Collections.emptyMap(), Collections.emptyMap());
+    private static volatile MergedMappingsCache cache;
+
     private MappingUtils() {
     }
 
@@ -17,50 +20,109 @@ public final class MappingUtils {
                                                 Map<String, String> runtimeToYarn,
                                                 Map<String, Map<String, List<String>>> methodsMap,
                                                 Map<String, Map<String, String>> fieldsMap) {
-        Map<String, List<String>> methods = new LinkedHashMap<>();
-        Map<String, String> fields = new LinkedHashMap<>();
-        combineMappingsIterative(cls, runtimeToYarn, methodsMap, fieldsMap, methods, fields);
-        return new ClassMappings(methods, fields);
+        if (cls == null) {
+            return EMPTY;
+        }
+        return cacheFor(runtimeToYarn, methodsMap, fieldsMap).resolve(cls);
     }
 
-    private static void combineMappingsIterative(Class<?> startCls,
-                                                 Map<String, String> r2y,
-                                                 Map<String, Map<String, List<String>>> mMap,
-                                                 Map<String, Map<String, String>> fMap,
-                                                 Map<String, List<String>> accMethods,
-                                                 Map<String, String> accFields) {
-        if (startCls == null) {
-            return;
+    private static MergedMappingsCache cacheFor(Map<String, String> r2y,
+                                                Map<String, Map<String, List<String>>> mMap,
+                                                Map<String, Map<String, String>> fMap) {
+        MergedMappingsCache current = cache;
+        if (current != null && current.isFor(r2y, mMap, fMap)) {
+            return current;
         }
+        synchronized (MappingUtils.class) {
+            current = cache;
+            if (current == null || !current.isFor(r2y, mMap, fMap)) {
+                current = new MergedMappingsCache(r2y, mMap, fMap);
+                cache = current;
+            }
+            return current;
+        }
+    }
 
-        Queue<Class<?>> toSearch = new LinkedList<>();
-        Set<Class<?>> seen = new HashSet<>();
-        toSearch.add(startCls);
+    // Values hang off each Class through ClassValue, so Java.extend adapter classes and their loaders stay
+    // collectable instead of being pinned by a global map.
+    private static final class MergedMappingsCache {
+        private final Map<String, String> r2y;
+        private final Map<String, Map<String, List<String>>> mMap;
+        private final Map<String, Map<String, String>> fMap;
+        private final ClassValue<ClassMappings> merged = new ClassValue<>() {
+            @Override
+            protected ClassMappings computeValue(Class<?> type) {
+                return compute(type);
+            }
+        };
+
+        private MergedMappingsCache(Map<String, String> r2y,
+                                    Map<String, Map<String, List<String>>> mMap,
+                                    Map<String, Map<String, String>> fMap) {
+            this.r2y = r2y;
+            this.mMap = mMap;
+            this.fMap = fMap;
+        }
 
-        while (!toSearch.isEmpty()) {
-            Class<?> current = toSearch.poll();
+        private boolean isFor(Map<String, String> r2y,
+                              Map<String, Map<String, List<String>>> mMap,
+                              Map<String, Map<String, String>> fMap) {
+            return this.r2y == r2y && this.mMap == mMap && this.fMap == fMap;
+        }
 
-            if (current == null || !seen.add(current)) {
-                continue;
+        private ClassMappings resolve(Class<?> cls) {
+            return merged.get(cls);
+        }
+
+        private ClassMappings compute(Class<?> cls) {
+            // With no entries of its own and a single direct parent, the breadth-first walk from this class visits
+            // exactly what the parent's walk does, so the parent's result is shared.
+            Class<?> onlyParent = singleParent(cls);
+            if (onlyParent != null && !hasOwnEntries(cls)) {
+                return resolve(onlyParent);
             }
 
-            String yarn = r2y.get(current.getName());
-            if (yarn != null) {
-                Map<String, List<String>> mm = mMap.get(yarn);
-                if (mm != null) {
-                    mm.forEach(accMethods::putIfAbsent);
+            // Breadth-first over superclasses and interfaces; the nearest declaration of a name wins.
+            Map<String, List<String>> methods = new LinkedHashMap<>();
+            Map<String, String> fields = new LinkedHashMap<>();
+            Queue<Class<?>> toSearch = new ArrayDeque<>();
+            Set<Class<?>> seen = new HashSet<>();
+            toSearch.add(cls);
+            while (!toSearch.isEmpty()) {
+                Class<?> current = toSearch.poll();
+                if (!seen.add(current)) {
+                    continue;
                 }
-
-                Map<String, String> fm = fMap.get(yarn);
-                if (fm != null) {
-                    fm.forEach(accFields::putIfAbsent);
+                String yarn = r2y.get(current.getName());
+                if (yarn != null) {
+                    Map<String, List<String>> mm = mMap.get(yarn);
+                    if (mm != null) mm.forEach(methods::putIfAbsent);
+                    Map<String, String> fm = fMap.get(yarn);
+                    if (fm != null) fm.forEach(fields::putIfAbsent);
+                }
+                if (current.getSuperclass() != null) {
+                    toSearch.add(current.getSuperclass());
                 }
+                toSearch.addAll(Arrays.asList(current.getInterfaces()));
             }
+            if (methods.isEmpty() && fields.isEmpty()) {
+                return EMPTY;
+            }
+            return new ClassMappings(Collections.unmodifiableMap(methods), Collections.unmodifiableMap(fields));
+        }
+
+        private boolean hasOwnEntries(Class<?> cls) {
+            String yarn = r2y.get(cls.getName());
+            return yarn != null && (mMap.containsKey(yarn) || fMap.containsKey(yarn));
+        }
 
-            if (current.getSuperclass() != null) {
-                toSearch.add(current.getSuperclass());
+        private static Class<?> singleParent(Class<?> cls) {
+            Class<?> superclass = cls.getSuperclass();
+            Class<?>[] interfaces = cls.getInterfaces();
+            if (superclass != null) {
+                return interfaces.length == 0 ? superclass : null;
             }
-            toSearch.addAll(Arrays.asList(current.getInterfaces()));
+            return interfaces.length == 1 ? interfaces[0] : null;
         }
     }
-}
\ No newline at end of file
+}
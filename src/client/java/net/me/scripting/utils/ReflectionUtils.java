@@ -2,7 +2,6 @@ package net.me.scripting.utils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.*;
 
 public final class ReflectionUtils {
@@ -10,49 +9,37 @@ public final class ReflectionUtils {
     private ReflectionUtils() {
     }
 
-    public static Field findField(Class<?> cls, String name) throws NoSuchFieldException {
-        for (Class<?> c = cls; c != null; c = c.getSuperclass()) {
-            try {
-                Field f = c.getDeclaredField(name);
-                f.setAccessible(true);
-                return f;
-            } catch (NoSuchFieldException ignored) {
-            }
+    public static Field findField(Class<?> cls, String name) {
+        if (cls == null || name == null) {
+            return null;
         }
-        throw new NoSuchFieldException("Field '" + name + "' not found in class " + cls + " or its superclasses.");
+        return ClassMemberIndex.of(cls).field(name);
     }
 
     public static List<Method> findMethods(Class<?> cls, List<String> names, boolean isStatic) {
-        List<Method> list = new ArrayList<>();
-        Set<String> foundSignatures = new HashSet<>();
-        Queue<Class<?>> toSearch = new LinkedList<>();
-        Set<Class<?>> visited = new HashSet<>();
-
-        if (cls != null) {
-            toSearch.add(cls);
+        if (cls == null || names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ClassMemberIndex index = ClassMemberIndex.of(cls);
+        if (names.size() == 1) {
+            return index.methods(names.getFirst(), isStatic);
         }
 
-        while (!toSearch.isEmpty()) {
-            Class<?> current = toSearch.poll();
-            if (current == null || !visited.add(current)) {
-                continue;
-            }
-
-            for (Method m : current.getDeclaredMethods()) {
-                if (names.contains(m.getName()) && Modifier.isStatic(m.getModifiers()) == isStatic) {
-                    String signature = m.getName() + Arrays.toString(m.getParameterTypes());
-                    if (foundSignatures.add(signature)) {
-                        m.setAccessible(true);
-                        list.add(m);
-                    }
-                }
-            }
-
-            if (current.getSuperclass() != null) {
-                toSearch.add(current.getSuperclass());
-            }
-            toSearch.addAll(Arrays.asList(current.getInterfaces()));
+        List<Method> list = new ArrayList<>();
+        for (String name : new LinkedHashSet<>(names)) {
+            list.addAll(index.methods(name, isStatic));
         }
         return list;
     }
-}
\ No newline at end of file
+
+    public static List<Method> findMethods(Class<?> cls, String name, boolean isStatic) {
+        if (cls == null || name == null) {
+            return Collections.emptyList();
+        }
+        return ClassMemberIndex.of(cls).methods(name, isStatic);
+    }
+
+    public static boolean hasMethod(Class<?> cls, String name, boolean isStatic) {
+        return cls != null && ClassMemberIndex.of(cls).hasMethod(name, isStatic);
+    }
+}
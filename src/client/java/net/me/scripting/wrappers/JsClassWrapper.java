@@ -1,6 +1,7 @@
 package net.me.scripting.wrappers;
 
 import net.me.Main;
+import net.me.scripting.diagnostics.ScriptProfiler;
 import net.me.scripting.utils.ReflectionUtils;
 import net.me.scripting.utils.ScriptUtils;
 import org.graalvm.polyglot.Value;
@@ -16,6 +17,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
@@ -24,13 +26,22 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
     private final Map<String, List<String>> yarnToRuntimeMethods;
     private final Map<String, String> yarnToRuntimeFields;
     private final List<Constructor<?>> constructors;
+    private final Map<String, ProxyExecutable> staticMethodProxies = new ConcurrentHashMap<>();
+    private final Map<String, Field> staticFields = new ConcurrentHashMap<>();
 
     public JsClassWrapper(String runtimeFqcn,
                           Map<String, List<String>> methodLookup,
                           Map<String, String> fieldLookup
     ) throws ClassNotFoundException {
-        Main.LOGGER.debug("Creating JsClassWrapper for: {}", runtimeFqcn);
-        this.targetClass = Class.forName(runtimeFqcn);
+        this(Class.forName(runtimeFqcn), methodLookup, fieldLookup);
+    }
+
+    public JsClassWrapper(Class<?> targetClass,
+                          Map<String, List<String>> methodLookup,
+                          Map<String, String> fieldLookup
+    ) {
+        Main.LOGGER.debug("Creating JsClassWrapper for: {}", targetClass.getName());
+        this.targetClass = targetClass;
         this.targetClassName = targetClass.getName();
         this.yarnToRuntimeMethods = Map.copyOf(methodLookup);
         this.yarnToRuntimeFields = Map.copyOf(fieldLookup);
@@ -58,7 +69,7 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
         }
 
         if (yarnToRuntimeMethods.containsKey(key)) {
-            return createStaticMethodProxy(key);
+            return staticMethodProxies.computeIfAbsent(key, this::createStaticMethodProxy);
         }
         if (yarnToRuntimeFields.containsKey(key)) {
             return readStaticField(key);
@@ -110,6 +121,7 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
     }
 
     private Object invokeConstructor(Value[] polyglotArgs) {
+        ScriptProfiler.hostCall();
         int argCount = polyglotArgs.length;
         for (Constructor<?> ctor : constructors) {
             if (ctor.getParameterCount() == argCount) {
@@ -134,8 +146,9 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
 
     private ProxyExecutable createStaticMethodProxy(String yarnKey) {
         List<String> runtimeNames = yarnToRuntimeMethods.get(yarnKey);
-        List<Method> methods = ReflectionUtils.findMethods(targetClass, runtimeNames, true);
+        Method[] methods = ReflectionUtils.findMethods(targetClass, runtimeNames, true).toArray(new Method[0]);
         return polyglotArgs -> {
+            ScriptProfiler.hostCall();
             int argCount = polyglotArgs.length;
             for (Method m : methods) {
                 if (m.getParameterCount() == argCount) {
@@ -145,7 +158,7 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
                         return ScriptUtils.wrapReturn(result);
                     } catch (Exception e) {
                         throw new RuntimeException(
-                                String.format("Failed to instantiate %s: %s", targetClassName, e.getMessage()), e);
+                                String.format("Failed to invoke %s.%s: %s", targetClassName, yarnKey, e.getMessage()), e);
                     }
                 }
             }
@@ -154,10 +167,26 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
         };
     }
 
+    private Field resolveStaticField(String yarnKey) {
+        Field cached = staticFields.get(yarnKey);
+        if (cached != null) {
+            return cached;
+        }
+        Field f = ReflectionUtils.findField(targetClass, yarnToRuntimeFields.get(yarnKey));
+        if (f != null) {
+            staticFields.putIfAbsent(yarnKey, f);
+        }
+        return f;
+    }
+
     private Object readStaticField(String yarnKey) {
+        ScriptProfiler.hostCall();
         String runtimeName = yarnToRuntimeFields.get(yarnKey);
         try {
-            Field f = ReflectionUtils.findField(targetClass, runtimeName);
+            Field f = resolveStaticField(yarnKey);
+            if (f == null) {
+                throw new RuntimeException("Field '" + runtimeName + "' not found in class " + targetClassName + " or its superclasses.");
+            }
             if (!Modifier.isStatic(f.getModifiers())) {
                 throw new RuntimeException(yarnKey + " is not a static field.");
             }
@@ -169,9 +198,13 @@ public class JsClassWrapper implements ProxyObject, ProxyInstantiable {
     }
 
     private void writeStaticField(String yarnKey, Value value) {
+        ScriptProfiler.hostCall();
         String runtimeName = yarnToRuntimeFields.get(yarnKey);
         try {
-            Field f = ReflectionUtils.findField(targetClass, runtimeName);
+            Field f = resolveStaticField(yarnKey);
+            if (f == null) {
+                throw new UnsupportedOperationException("Field '" + runtimeName + "' not found in class " + targetClassName + " or its superclasses.");
+            }
             if (!Modifier.isStatic(f.getModifiers())) {
                 throw new UnsupportedOperationException("Cannot write to non-static field '" + yarnKey + "' via class proxy.");
             }
@@ -1,5 +1,7 @@
 package net.me.scripting.wrappers;
 
+import net.me.scripting.diagnostics.ScriptProfiler;
+import net.me.scripting.metrics.ScriptingMetrics;
 import net.me.scripting.utils.ScriptUtils;
 import net.me.scripting.wrappers.support.FieldLookup;
 import net.me.scripting.wrappers.support.MethodLookup;
@@ -29,6 +31,8 @@ public class JsObjectWrapper implements ProxyObject {
         if (instance == null) {
             throw new NullPointerException("Java instance cannot be null");
         }
+        ScriptProfiler.wrapperAllocated();
+        ScriptingMetrics.OBJECT_WRAPPERS_CREATED.increment();
         this.javaInstance = instance;
         this.instanceClass = (cls != null) ? cls : instance.getClass();
         this.methods = new MethodLookup(methodMap);
@@ -109,18 +113,18 @@ public class JsObjectWrapper implements ProxyObject {
     }
 
     private Object handleField(String key) {
+        Field f = fields.accessField(instanceClass, key);
+        if (f == null || Modifier.isStatic(f.getModifiers())) return null;
+        ScriptProfiler.hostCall();
         try {
-            Field f = fields.accessField(instanceClass, key);
-            if (Modifier.isStatic(f.getModifiers())) return null;
             return ScriptUtils.wrapReturn(f.get(javaInstance));
-        } catch (NoSuchFieldException e) {
-            return null;
         } catch (Exception e) {
             throw new RuntimeException("Field access failed: " + key, e);
         }
     }
 
     private Object invokeMethods(List<Method> methods, Value[] args, String yarnName) {
+        ScriptProfiler.hostCall();
         for (Method m : methods) {
             if (m.getParameterCount() == args.length) {
                 try {
@@ -140,8 +144,10 @@ public class JsObjectWrapper implements ProxyObject {
     }
 
     private void writeField(String key, Value value) {
+        ScriptProfiler.hostCall();
         try {
             Field f = fields.accessField(instanceClass, key);
+            if (f == null) throw new UnsupportedOperationException("No such field: " + key);
             if (Modifier.isStatic(f.getModifiers()) || Modifier.isFinal(f.getModifiers()))
                 throw new UnsupportedOperationException("Cannot modify field: " + key);
             Object javaVal = ScriptUtils.unwrapArgs(new Value[]{value}, new Class[]{f.getType()})[0];
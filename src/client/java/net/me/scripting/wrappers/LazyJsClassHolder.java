@@ -11,7 +11,7 @@ public class LazyJsClassHolder implements ProxyObject, ProxyInstantiable {
     private final String runtimeName;
     private final ScriptingClassResolver classResolver;
 
-    private JsClassWrapper resolvedWrapper;
+    private volatile JsClassWrapper resolvedWrapper;
 
     public LazyJsClassHolder(String yarnName, String runtimeName, ScriptingClassResolver classResolver) {
         this.yarnName = yarnName;
@@ -20,16 +20,26 @@ public class LazyJsClassHolder implements ProxyObject, ProxyInstantiable {
     }
 
     public JsClassWrapper getWrapper() {
-        if (resolvedWrapper == null) {
+        JsClassWrapper wrapper = resolvedWrapper;
+        if (wrapper == null) {
             Main.LOGGER.debug("Lazy loading JsClassWrapper for {} -> {}", yarnName, runtimeName);
             try {
-                resolvedWrapper = classResolver.createActualJsClassWrapper(runtimeName);
+                wrapper = classResolver.getOrCreateWrapper(runtimeName);
+                resolvedWrapper = wrapper;
             } catch (Exception e) {
                 Main.LOGGER.error("Failed to lazy-load {}: {}", runtimeName, e.getMessage(), e);
                 throw new RuntimeException("Cannot load class " + yarnName, e);
             }
         }
-        return resolvedWrapper;
+        return wrapper;
+    }
+
+    public String getYarnName() {
+        return yarnName;
+    }
+
+    public String getRuntimeName() {
+        return runtimeName;
     }
 
     @Override
@@ -6,49 +6,45 @@ import java.lang.reflect.Field;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class FieldLookup {
+    // Field lookups are not cached (ClassMemberIndex already indexes fields per class), so only outcomes are counted.
+    private static final LongAdder FOUND = new LongAdder();
+    private static final LongAdder NOT_FOUND = new LongAdder();
+
     private final Map<String, String> map;
-    private final Map<Class<?>, Map<String, Field>> fieldCache = new ConcurrentHashMap<>();
 
     public FieldLookup(Map<String, String> map) {
         this.map = map != null ? map : Collections.emptyMap();
     }
 
+    public static Stats stats() {
+        return new Stats(FOUND.sum(), NOT_FOUND.sum());
+    }
+
     public boolean hasField(Class<?> cls, String key) {
-        try {
-            accessField(cls, key);
-            return true;
-        } catch (NoSuchFieldException e) {
-            return false;
-        }
+        return accessField(cls, key) != null;
     }
 
     public Set<String> fieldKeys() {
         return map.keySet();
     }
 
-    public Field accessField(Class<?> cls, String key) throws NoSuchFieldException {
-        Map<String, Field> classCache = fieldCache.computeIfAbsent(cls, k -> new ConcurrentHashMap<>());
-        Field cachedField = classCache.get(key);
-        if (cachedField != null) {
-            return cachedField;
-        }
-
-        Field foundField;
+    public Field accessField(Class<?> cls, String key) {
         String runtimeName = map.get(key);
-        if (runtimeName != null) {
-            try {
-                foundField = ReflectionUtils.findField(cls, runtimeName);
-            } catch (NoSuchFieldException ignored) {
-                foundField = ReflectionUtils.findField(cls, key);
-            }
+        Field found = runtimeName != null ? ReflectionUtils.findField(cls, runtimeName) : null;
+        if (found == null) {
+            found = ReflectionUtils.findField(cls, key);
+        }
+        if (found != null) {
+            FOUND.increment();
         } else {
-            foundField = ReflectionUtils.findField(cls, key);
+            NOT_FOUND.increment();
         }
+        return found;
+    }
 
-        classCache.put(key, foundField);
-        return foundField;
+    public record Stats(long found, long notFound) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package net.me.scripting.wrappers.support;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LookupStats {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder tables = new LongAdder();
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void tableCreated() {
+        tables.increment();
+    }
+
+    void entryAdded() {
+        entries.increment();
+    }
+
+    void entriesEvicted(int count) {
+        entries.add(-count);
+        evictions.add(count);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(hits.sum(), misses.sum(), tables.sum(), entries.sum(), evictions.sum());
+    }
+
+    public record Snapshot(long hits, long misses, long tables, long entries, long evictions) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
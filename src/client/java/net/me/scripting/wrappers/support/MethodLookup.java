@@ -8,18 +8,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MethodLookup {
+    private static final int NEGATIVE_CACHE_LIMIT = 256;
+    private static final LookupStats STATS = new LookupStats();
+    private static final ClassValue<MethodTable> TABLES = new ClassValue<>() {
+        @Override
+        protected MethodTable computeValue(Class<?> type) {
+            STATS.tableCreated();
+            return new MethodTable();
+        }
+    };
+
     private final Map<String, List<String>> map;
-    private static final Map<Class<?>, Map<String, List<Method>>> methodCache = new ConcurrentHashMap<>();
 
     public MethodLookup(Map<String, List<String>> map) {
         this.map = map != null ? map : Collections.emptyMap();
     }
 
-    private static List<Method> findAndCache(Class<?> cls, String cacheKey, List<String> namesToSearch) {
-        Map<String, List<Method>> classCache = methodCache.computeIfAbsent(cls, k -> new ConcurrentHashMap<>());
-        return classCache.computeIfAbsent(cacheKey, k -> ReflectionUtils.findMethods(cls, namesToSearch, false));
+    public static LookupStats.Snapshot stats() {
+        return STATS.snapshot();
     }
 
     public boolean hasMapped(String key) {
@@ -31,18 +40,73 @@ public class MethodLookup {
     }
 
     public List<Method> findMethods(Class<?> cls, String key) {
-        List<String> runtimeNames = map.getOrDefault(key, Collections.emptyList());
-        if (runtimeNames.isEmpty()) {
+        List<String> runtimeNames = map.get(key);
+        if (runtimeNames == null || runtimeNames.isEmpty()) {
             return Collections.emptyList();
         }
-        return findAndCache(cls, key, runtimeNames);
+        return TABLES.get(cls).mapped.lookup(cls, key, runtimeNames);
     }
 
     public static List<Method> findDirect(Class<?> cls, String key) {
-        return findAndCache(cls, key, List.of(key));
+        return TABLES.get(cls).direct.lookup(cls, key, null);
     }
 
     public static boolean hasDirect(Class<?> cls, String key) {
         return !findDirect(cls, key).isEmpty();
     }
-}
\ No newline at end of file
+
+    private static final class MethodTable {
+        private final CachedMethods mapped = new CachedMethods();
+        private final CachedMethods direct = new CachedMethods();
+    }
+
+    // Positive entries are bounded by the members the class actually has; misses go to a small set
+    // that is dropped wholesale once full, so probing arbitrary keys cannot grow the cache.
+    private static final class CachedMethods {
+        private final Map<String, List<Method>> found = new ConcurrentHashMap<>();
+        private final Set<String> missing = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger missingCount = new AtomicInteger();
+
+        private List<Method> lookup(Class<?> cls, String key, List<String> runtimeNames) {
+            List<Method> cached = found.get(key);
+            if (cached != null) {
+                STATS.hit();
+                return cached;
+            }
+            if (missing.contains(key)) {
+                STATS.hit();
+                return Collections.emptyList();
+            }
+            STATS.miss();
+
+            List<Method> resolved = runtimeNames != null
+                    ? ReflectionUtils.findMethods(cls, runtimeNames, false)
+                    : ReflectionUtils.findMethods(cls, key, false);
+            if (resolved.isEmpty()) {
+                rememberMissing(key);
+                return Collections.emptyList();
+            }
+            if (found.putIfAbsent(key, resolved) == null) {
+                STATS.entryAdded();
+            }
+            return resolved;
+        }
+
+        private void rememberMissing(String key) {
+            if (missingCount.get() >= NEGATIVE_CACHE_LIMIT) {
+                synchronized (this) {
+                    if (missingCount.get() >= NEGATIVE_CACHE_LIMIT) {
+                        int evicted = missing.size();
+                        missing.clear();
+                        missingCount.set(0);
+                        STATS.entriesEvicted(evicted);
+                    }
+                }
+            }
+            if (missing.add(key)) {
+                missingCount.incrementAndGet();
+                STATS.entryAdded();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package net.me.scripting.wrappers.support;
+
+import net.me.scripting.engine.ScriptingClassResolver;
+import net.me.scripting.wrappers.LazyJsClassHolder;
+import net.me.scripting.wrappers.LazyPackageProxy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class PackageNode {
+    private static final String[] NO_CHILDREN = new String[0];
+
+    private final String path;
+    private Map<String, PackageNode> children = new HashMap<>();
+    private String[] childNames = NO_CHILDREN;
+    private String runtimeClassName;
+
+    private volatile LazyJsClassHolder classHolder;
+    private volatile LazyPackageProxy packageProxy;
+
+    private PackageNode(String path) {
+        this.path = path;
+    }
+
+    public static PackageNode root() {
+        return new PackageNode("");
+    }
+
+    public void insertClass(String yarnName, String runtimeName) {
+        PackageNode node = this;
+        int start = 0;
+        while (true) {
+            int dot = yarnName.indexOf('.', start);
+            int end = dot < 0 ? yarnName.length() : dot;
+            node = node.children.computeIfAbsent(yarnName.substring(start, end),
+                    segment -> new PackageNode(yarnName.substring(0, end)));
+            if (dot < 0) break;
+            start = dot + 1;
+        }
+        node.runtimeClassName = runtimeName;
+    }
+
+    // Called once after all classes are inserted; the trie is read-only afterwards.
+    public void freeze() {
+        for (PackageNode child : children.values()) {
+            child.freeze();
+        }
+        if (children.isEmpty()) {
+            children = Map.of();
+            return;
+        }
+        children = Map.copyOf(children);
+        childNames = children.keySet().toArray(new String[0]);
+        Arrays.sort(childNames);
+    }
+
+    public PackageNode child(String segment) {
+        return children.get(segment);
+    }
+
+    public PackageNode find(String dottedPath) {
+        PackageNode node = this;
+        int start = 0;
+        while (node != null) {
+            int dot = dottedPath.indexOf('.', start);
+            if (dot < 0) {
+                return node.child(dottedPath.substring(start));
+            }
+            node = node.child(dottedPath.substring(start, dot));
+            start = dot + 1;
+        }
+        return null;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isClass() {
+        return runtimeClassName != null;
+    }
+
+    public boolean isPackage() {
+        return !children.isEmpty();
+    }
+
+    public String getRuntimeClassName() {
+        return runtimeClassName;
+    }
+
+    public String[] getChildNames() {
+        return childNames.clone();
+    }
+
+    public LazyJsClassHolder getClassHolder(ScriptingClassResolver classResolver) {
+        LazyJsClassHolder holder = classHolder;
+        if (holder == null && runtimeClassName != null) {
+            synchronized (this) {
+                holder = classHolder;
+                if (holder == null) {
+                    holder = new LazyJsClassHolder(path, runtimeClassName, classResolver);
+                    classHolder = holder;
+                }
+            }
+        }
+        return holder;
+    }
+
+    public LazyPackageProxy getPackageProxy(ScriptingClassResolver classResolver) {
+        LazyPackageProxy proxy = packageProxy;
+        if (proxy == null) {
+            synchronized (this) {
+                proxy = packageProxy;
+                if (proxy == null) {
+                    proxy = new LazyPackageProxy(this, classResolver);
+                    packageProxy = proxy;
+                }
+            }
+        }
+        return proxy;
+    }
+}
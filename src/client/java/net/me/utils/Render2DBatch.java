@@ -0,0 +1,112 @@
+package net.me.utils;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.minecraft.client.gl.ShaderProgramKey;
+import net.minecraft.client.render.*;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Collects triangles from Render2DUtils between begin() and close(), one layer per shader, and draws each layer
+// with a single buffer on the outermost close(). Render thread only; nested begin() calls join the open batch.
+public final class Render2DBatch implements AutoCloseable {
+    private static final Render2DBatch INSTANCE = new Render2DBatch();
+    private static final Counter FLUSHES = MetricsRegistry.getInstance().counter("render2d.flushes");
+    private static final Counter DRAW_CALLS = MetricsRegistry.getInstance().counter("render2d.drawCalls");
+    private static final Counter VERTICES = MetricsRegistry.getInstance().counter("render2d.vertices");
+
+    private final Map<ShaderProgramKey, Layer> layers = new LinkedHashMap<>();
+    private int depth;
+
+    private Render2DBatch() {
+    }
+
+    public static Render2DBatch begin() {
+        INSTANCE.depth++;
+        return INSTANCE;
+    }
+
+    public static Render2DBatch active() {
+        return INSTANCE.depth > 0 ? INSTANCE : null;
+    }
+
+    // The returned sink applies matrix (null for none) and appends to the shader's layer.
+    public VertexSink sink(ShaderProgramKey shader, Matrix4f matrix) {
+        return layers.computeIfAbsent(shader, Layer::new).withMatrix(matrix);
+    }
+
+    @Override
+    public void close() {
+        if (depth == 0) return;
+        if (--depth == 0) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        boolean any = false;
+        for (Layer layer : layers.values()) {
+            if (layer.vertexCount == 0) continue;
+            if (!any) {
+                RenderSystem.enableBlend();
+                RenderSystem.setShaderColor(1f, 1f, 1f, 1f);
+                any = true;
+            }
+            RenderSystem.setShader(layer.shader);
+            BufferBuilder buffer = Tessellator.getInstance().begin(VertexFormat.DrawMode.TRIANGLES, VertexFormats.POSITION_COLOR);
+            for (int i = 0; i < layer.vertexCount; i++) {
+                buffer.vertex(layer.positions[i * 2], layer.positions[i * 2 + 1], 0).color(layer.colors[i]);
+            }
+            BuiltBuffer built = buffer.end();
+            if (built != null) {
+                BufferRenderer.drawWithGlobalProgram(built);
+            }
+            DRAW_CALLS.increment();
+            VERTICES.add(layer.vertexCount);
+            layer.vertexCount = 0;
+        }
+        if (any) {
+            RenderSystem.disableBlend();
+            FLUSHES.increment();
+        }
+    }
+
+    private static final class Layer implements VertexSink {
+        private final ShaderProgramKey shader;
+        private final Vector3f scratch = new Vector3f();
+        private float[] positions = new float[1024];
+        private int[] colors = new int[512];
+        private int vertexCount;
+        private Matrix4f matrix;
+
+        Layer(ShaderProgramKey shader) {
+            this.shader = shader;
+        }
+
+        Layer withMatrix(Matrix4f matrix) {
+            this.matrix = matrix;
+            return this;
+        }
+
+        @Override
+        public void vertex(float x, float y, int color) {
+            if (vertexCount == colors.length) {
+                colors = Arrays.copyOf(colors, colors.length * 2);
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            if (matrix != null) {
+                matrix.transformPosition(x, y, 0, scratch);
+                x = scratch.x;
+                y = scratch.y;
+            }
+            positions[vertexCount * 2] = x;
+            positions[vertexCount * 2 + 1] = y;
+            colors[vertexCount++] = color;
+        }
+    }
+}
@@ -2,12 +2,10 @@ package net.me.utils;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gl.ShaderProgramKeys;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.render.*;
 import net.minecraft.client.util.math.MatrixStack;
-import net.minecraft.text.Text;
 import org.joml.Matrix4f;
 
 import java.awt.*;
@@ -35,152 +33,101 @@ public final class Render2DUtils {
     }
 
     public static void drawRect(float x, float y, float width, float height, int color) {
-        float x2 = x + width;
-        float y2 = y + height;
-
-        BufferBuilder buffer = setupRender(VertexFormat.DrawMode.QUADS, VertexFormats.POSITION_COLOR);
-
-        buffer.vertex(x, y2, 0).color(color);
-        buffer.vertex(x2, y2, 0).color(color);
-        buffer.vertex(x2, y, 0).color(color);
-        buffer.vertex(x, y, 0).color(color);
-
-        endRender(buffer);
+        VertexSink sink = beginShape(null);
+        emitQuad(sink, x, y, x + width, y + height, color);
+        endShape(sink);
     }
 
     public static void drawOutline(DrawContext context, float x, float y, float width, float height, float lineWidth, int color) {
-        drawRect(x, y, width, lineWidth, color); // Top
-        drawRect(x, y + height - lineWidth, width, lineWidth, color); // Bottom
-        drawRect(x, y + lineWidth, lineWidth, height - (lineWidth * 2), color); // Left
-        drawRect(x + width - lineWidth, y + lineWidth, lineWidth, height - (lineWidth * 2), color); // Right
+        VertexSink sink = beginShape(null);
+        emitQuad(sink, x, y, x + width, y + lineWidth, color); // Top
+        emitQuad(sink, x, y + height - lineWidth, x + width, y + height, color); // Bottom
+        emitQuad(sink, x, y + lineWidth, x + lineWidth, y + height - lineWidth, color); // Left
+        emitQuad(sink, x + width - lineWidth, y + lineWidth, x + width, y + height - lineWidth, color); // Right
+        endShape(sink);
     }
 
 
     public static void drawRoundedRect(DrawContext context, float x, float y, float width, float height, float radius, float quality, int color) {
         Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
-
-        BufferBuilder buffer = setupRender(VertexFormat.DrawMode.TRIANGLE_STRIP, VertexFormats.POSITION_COLOR);
-
-        radius = Math.min(Math.min(width, height) / 2, radius);
-        if (radius < 0) radius = 0;
-
-        float x2 = x + width;
-        float y2 = y + height;
-
-        float centerX = x + width / 2;
-        float centerY = y + height / 2;
-
-        float lastVx, lastVy;
-
-        {
-            float cx = x2 - radius;
-            float cy = y2 - radius;
-            lastVx = cx + radius;
-            lastVy = cy;
-        }
-
-        for (int i = (int) quality; i <= 360; i += (int) quality) {
-            double angle = Math.toRadians(i);
-            double sin = Math.sin(angle);
-            double cos = Math.cos(angle);
-
-            float cx, cy;
-            if (i >= 0 && i <= 90) {
-                cx = x2 - radius;
-                cy = y2 - radius;
-            } else if (i > 90 && i <= 180) {
-                cx = x + radius;
-                cy = y2 - radius;
-            } else if (i > 180 && i <= 270) {
-                cx = x + radius;
-                cy = y + radius;
-            } else {
-                cx = x2 - radius;
-                cy = y + radius;
-            }
-
-            float currentVx = cx + (float) (cos * radius);
-            float currentVy = cy + (float) (sin * radius);
-
-            buffer.vertex(matrix, centerX, centerY, 0).color(color);
-            buffer.vertex(matrix, lastVx, lastVy, 0).color(color);
-            buffer.vertex(matrix, currentVx, currentVy, 0).color(color);
-
-            lastVx = currentVx;
-            lastVy = currentVy;
-        }
-        // handle last segment
-        buffer.vertex(matrix, centerX, centerY, 0).color(color);
-        buffer.vertex(matrix, lastVx, lastVy + height - radius * 2, 0).color(color);
-        buffer.vertex(matrix, lastVx, lastVy, 0).color(color);
-        endRender(buffer);
+        VertexSink sink = beginShape(matrix);
+        RoundedRectGeometry.fill(sink, x, y, width, height, radius, quality, color);
+        endShape(sink);
     }
 
     public static void drawRoundedOutline(DrawContext context, float x, float y, float width, float height, float radius, float lineWidth, float quality, int color) {
         Matrix4f matrix = context.getMatrices().peek().getPositionMatrix();
-        BufferBuilder buffer = setupRender(VertexFormat.DrawMode.TRIANGLE_STRIP, VertexFormats.POSITION_COLOR);
-
-        radius = Math.min(Math.min(width, height) / 2, radius);
-
-        float x2 = x + width;
-        float y2 = y + height;
-
-        for (int i = 0; i <= 450; i += (int) quality) {
-            double angle = Math.toRadians(i);
-            double sin = Math.sin(angle);
-            double cos = Math.cos(angle);
-
-            float cx, cy, r_inner, r_outer;
-            r_outer = radius;
-            r_inner = radius - lineWidth;
-
-            if (i >= 0 && i <= 90) {
-                cx = x2 - radius;
-                cy = y2 - radius;
-            } else if (i > 90 && i <= 180) {
-                cx = x + radius;
-                cy = y2 - radius;
-            } else if (i > 180 && i <= 270) {
-                cx = x + radius;
-                cy = y + radius;
-            } else if (i > 270 && i <= 360) {
-                cx = x2 - radius;
-                cy = y + radius;
-            } else { // handle last segment
-                cx = x2 - radius;
-                cy = y2 - radius;
-            }
+        VertexSink sink = beginShape(matrix);
+        RoundedRectGeometry.outline(sink, x, y, width, height, radius, lineWidth, quality, color);
+        endShape(sink);
+    }
 
-            buffer.vertex(matrix, cx + (float) (cos * r_outer), cy + (float) (sin * r_outer), 0).color(color);
-            buffer.vertex(matrix, cx + (float) (cos * r_inner), cy + (float) (sin * r_inner), 0).color(color);
-        }
 
-        endRender(buffer);
+    public static void drawText(DrawContext context, String text, float x, float y, int color, boolean shadow, float scale) {
+        TextLayoutCache.Layout layout = TextLayoutCache.get(mc.textRenderer, text, scale, shadow);
+        drawLayout(context, layout, x, y, color, shadow, scale);
     }
 
+    public static void drawCenteredText(DrawContext context, String text, float x, float y, int color, boolean shadow, float scale) {
+        TextLayoutCache.Layout layout = TextLayoutCache.get(mc.textRenderer, text, scale, shadow);
 
-    public static void drawText(DrawContext context, String text, float x, float y, int color, boolean shadow, float scale) {
+        float drawX = x - layout.width() / 2.0f;
+        float drawY = y - layout.height() / 2.0f;
+
+        drawLayout(context, layout, drawX, drawY, color, shadow, scale);
+    }
+
+    // Unscaled text at whole-pixel positions needs no matrix push.
+    private static void drawLayout(DrawContext context, TextLayoutCache.Layout layout, float x, float y, int color, boolean shadow, float scale) {
+        if (scale == 1.0f && x == (int) x && y == (int) y) {
+            context.drawText(mc.textRenderer, layout.text(), (int) x, (int) y, color, shadow);
+            return;
+        }
         MatrixStack matrices = context.getMatrices();
         matrices.push();
         matrices.translate(x, y, 0);
         matrices.scale(scale, scale, 1.0f);
 
-        context.drawText(mc.textRenderer, Text.literal(text), 0, 0, color, shadow);
+        context.drawText(mc.textRenderer, layout.text(), 0, 0, color, shadow);
 
         matrices.pop();
     }
 
-    public static void drawCenteredText(DrawContext context, String text, float x, float y, int color, boolean shadow, float scale) {
-        TextRenderer textRenderer = mc.textRenderer;
-        float textWidth = textRenderer.getWidth(text) * scale;
-        float textHeight = textRenderer.fontHeight * scale;
 
-        float drawX = x - textWidth / 2.0f;
-        float drawY = y - textHeight / 2.0f;
+    private static void emitQuad(VertexSink sink, float x1, float y1, float x2, float y2, int color) {
+        sink.vertex(x1, y2, color);
+        sink.vertex(x2, y2, color);
+        sink.vertex(x2, y1, color);
+        sink.vertex(x2, y1, color);
+        sink.vertex(x1, y1, color);
+        sink.vertex(x1, y2, color);
+    }
 
-        drawText(context, text, drawX, drawY, color, shadow, scale);
+    // Inside a Render2DBatch shapes are only recorded; otherwise each shape is drawn right away as before.
+    private static VertexSink beginShape(Matrix4f matrix) {
+        Render2DBatch batch = Render2DBatch.active();
+        if (batch != null) {
+            return batch.sink(ShaderProgramKeys.POSITION_COLOR, matrix);
+        }
+        return new ImmediateSink(setupRender(VertexFormat.DrawMode.TRIANGLES, VertexFormats.POSITION_COLOR), matrix);
+    }
+
+    private static void endShape(VertexSink sink) {
+        if (sink instanceof ImmediateSink immediate) {
+            endRender(immediate.buffer());
+        }
     }
 
+    private record ImmediateSink(BufferBuilder buffer, Matrix4f matrix) implements VertexSink {
+        @Override
+        public void vertex(float x, float y, int color) {
+            if (matrix != null) {
+                buffer.vertex(matrix, x, y, 0).color(color);
+            } else {
+                buffer.vertex(x, y, 0).color(color);
+            }
+        }
+    }
 
     private static BufferBuilder setupRender(VertexFormat.DrawMode drawMode, VertexFormat vertexFormat) {
         RenderSystem.enableBlend();
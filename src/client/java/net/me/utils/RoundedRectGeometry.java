@@ -0,0 +1,133 @@
+package net.me.utils;
+
+// Per-step unit corner directions for rounded rects, scaled by the radius while emitting, so drawing needs no trig
+// per frame. Steps are whole degrees in [1, 360], which bounds the cache to one entry per step whatever radii
+// scripts animate through. Angles walk counter-clockwise from the bottom-right corner, matching the original math.
+public final class RoundedRectGeometry {
+    private static final RoundedRectGeometry[] CACHE = new RoundedRectGeometry[361];
+
+    // Fill fan: directions for angles step, 2*step, ... <= 360.
+    private final float[] fillDirs;
+    private final byte[] fillCorners;
+    // Outline strip: angles 0, step, ... <= 450 so the loop closes past the start.
+    private final float[] outlineDirs;
+    private final byte[] outlineCorners;
+
+    private RoundedRectGeometry(int step) {
+        int fillCount = 360 / step;
+        fillDirs = new float[fillCount * 2];
+        fillCorners = new byte[fillCount];
+        for (int n = 0; n < fillCount; n++) {
+            int angle = (n + 1) * step;
+            fillDirs[n * 2] = TrigTable.cos(angle);
+            fillDirs[n * 2 + 1] = TrigTable.sin(angle);
+            fillCorners[n] = corner(angle);
+        }
+
+        int outlineCount = 450 / step + 1;
+        outlineDirs = new float[outlineCount * 2];
+        outlineCorners = new byte[outlineCount];
+        for (int n = 0; n < outlineCount; n++) {
+            int angle = n * step;
+            outlineDirs[n * 2] = TrigTable.cos(angle);
+            outlineDirs[n * 2 + 1] = TrigTable.sin(angle);
+            outlineCorners[n] = corner(angle);
+        }
+    }
+
+    public static synchronized RoundedRectGeometry of(float quality) {
+        int step = step(quality);
+        RoundedRectGeometry geometry = CACHE[step];
+        if (geometry == null) {
+            geometry = new RoundedRectGeometry(step);
+            CACHE[step] = geometry;
+        }
+        return geometry;
+    }
+
+    public static synchronized int cachedCount() {
+        int count = 0;
+        for (RoundedRectGeometry geometry : CACHE) {
+            if (geometry != null) count++;
+        }
+        return count;
+    }
+
+    public static void fill(VertexSink sink, float x, float y, float width, float height, float radius, float quality, int color) {
+        radius = Math.max(0, Math.min(Math.min(width, height) / 2, radius));
+        RoundedRectGeometry geometry = of(quality);
+
+        float x2 = x + width;
+        float y2 = y + height;
+        float centerX = x + width / 2;
+        float centerY = y + height / 2;
+        float[] cornerX = {x2 - radius, x + radius, x + radius, x2 - radius};
+        float[] cornerY = {y2 - radius, y2 - radius, y + radius, y + radius};
+
+        float lastVx = x2;
+        float lastVy = y2 - radius;
+        float[] dirs = geometry.fillDirs;
+        byte[] corners = geometry.fillCorners;
+        for (int n = 0; n < corners.length; n++) {
+            int c = corners[n];
+            float vx = cornerX[c] + dirs[n * 2] * radius;
+            float vy = cornerY[c] + dirs[n * 2 + 1] * radius;
+            sink.vertex(centerX, centerY, color);
+            sink.vertex(lastVx, lastVy, color);
+            sink.vertex(vx, vy, color);
+            lastVx = vx;
+            lastVy = vy;
+        }
+        // Close the fan along the right edge.
+        sink.vertex(centerX, centerY, color);
+        sink.vertex(lastVx, lastVy + height - radius * 2, color);
+        sink.vertex(lastVx, lastVy, color);
+    }
+
+    public static void outline(VertexSink sink, float x, float y, float width, float height, float radius, float lineWidth, float quality, int color) {
+        radius = Math.min(Math.min(width, height) / 2, radius);
+        RoundedRectGeometry geometry = of(quality);
+
+        float x2 = x + width;
+        float y2 = y + height;
+        float innerRadius = radius - lineWidth;
+        float[] cornerX = {x2 - radius, x + radius, x + radius, x2 - radius};
+        float[] cornerY = {y2 - radius, y2 - radius, y + radius, y + radius};
+
+        float[] dirs = geometry.outlineDirs;
+        byte[] corners = geometry.outlineCorners;
+        float prevOuterX = 0, prevOuterY = 0, prevInnerX = 0, prevInnerY = 0;
+        for (int n = 0; n < corners.length; n++) {
+            int c = corners[n];
+            float dx = dirs[n * 2];
+            float dy = dirs[n * 2 + 1];
+            float outerX = cornerX[c] + dx * radius, outerY = cornerY[c] + dy * radius;
+            float innerX = cornerX[c] + dx * innerRadius, innerY = cornerY[c] + dy * innerRadius;
+            if (n > 0) {
+                sink.vertex(prevOuterX, prevOuterY, color);
+                sink.vertex(prevInnerX, prevInnerY, color);
+                sink.vertex(outerX, outerY, color);
+                sink.vertex(prevInnerX, prevInnerY, color);
+                sink.vertex(outerX, outerY, color);
+                sink.vertex(innerX, innerY, color);
+            }
+            prevOuterX = outerX;
+            prevOuterY = outerY;
+            prevInnerX = innerX;
+            prevInnerY = innerY;
+        }
+    }
+
+    // quality is an angle step in degrees; anything below one degree would never terminate.
+    private static int step(float quality) {
+        return Math.max(1, Math.min(360, (int) quality));
+    }
+
+    private static byte corner(int angle) {
+        if (angle <= 90) return 0;
+        if (angle <= 180) return 1;
+        if (angle <= 270) return 2;
+        if (angle <= 360) return 3;
+        return 0;
+    }
+}
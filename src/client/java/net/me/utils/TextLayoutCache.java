@@ -0,0 +1,67 @@
+package net.me.utils;
+
+import net.me.scripting.metrics.Counter;
+import net.me.scripting.metrics.MetricsRegistry;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LRU of measured, pre-built text runs keyed by (text, scale, shadow). Render thread only.
+// The client TextRenderer lives for the whole session while its fonts are reloaded in place, so widths can go stale;
+// Main clears the cache from a resource reload listener that runs after the fonts have been reloaded.
+public final class TextLayoutCache {
+    private static final int MAX_ENTRIES = 1024;
+    private static final Counter HITS = MetricsRegistry.getInstance().counter("text.layout.hits");
+    private static final Counter MISSES = MetricsRegistry.getInstance().counter("text.layout.misses");
+
+    private static final Map<Key, Layout> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Layout> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    static {
+        MetricsRegistry.getInstance().gauge("text.layout.hitRate", () -> {
+            long hits = HITS.get();
+            long total = hits + MISSES.get();
+            return total == 0 ? 0.0 : (double) hits / total;
+        });
+        MetricsRegistry.getInstance().gauge("text.layout.size", TextLayoutCache::size);
+    }
+
+    private TextLayoutCache() {
+    }
+
+    public static Layout get(TextRenderer textRenderer, String text, float scale, boolean shadow) {
+        Key key = new Key(text, scale, shadow);
+        Layout layout = CACHE.get(key);
+        if (layout != null) {
+            HITS.increment();
+            return layout;
+        }
+        MISSES.increment();
+        OrderedText ordered = Text.literal(text).asOrderedText();
+        layout = new Layout(ordered, textRenderer.getWidth(ordered) * scale, textRenderer.fontHeight * scale);
+        CACHE.put(key, layout);
+        return layout;
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private record Key(String text, float scale, boolean shadow) {
+    }
+
+    // width and height are already multiplied by scale.
+    public record Layout(OrderedText text, float width, float height) {
+    }
+}
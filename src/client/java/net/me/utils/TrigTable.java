@@ -0,0 +1,26 @@
+package net.me.utils;
+
+// Sine and cosine for whole degrees; angles are reduced modulo 360, negatives included.
+public final class TrigTable {
+    private static final float[] SIN = new float[360];
+    private static final float[] COS = new float[360];
+
+    static {
+        for (int deg = 0; deg < 360; deg++) {
+            double rad = Math.toRadians(deg);
+            SIN[deg] = (float) Math.sin(rad);
+            COS[deg] = (float) Math.cos(rad);
+        }
+    }
+
+    private TrigTable() {
+    }
+
+    public static float sin(int degrees) {
+        return SIN[Math.floorMod(degrees, 360)];
+    }
+
+    public static float cos(int degrees) {
+        return COS[Math.floorMod(degrees, 360)];
+    }
+}
@@ -0,0 +1,6 @@
+package net.me.utils;
+
+// Receives 2D triangle-list vertices, three per triangle. Free of Minecraft types so geometry can be tested headless.
+public interface VertexSink {
+    void vertex(float x, float y, int color);
+}
@@ -0,0 +1,62 @@
+package net.me.headless;
+
+import java.nio.file.Path;
+
+record HeadlessOptions(
+        Path scriptsDir,
+        Path modDir,
+        Path mappingsFile,
+        boolean development,
+        int replicas,
+        int warmupTicks,
+        int ticks
+) {
+
+    static HeadlessOptions parse(String[] args) {
+        Path scriptsDir = null;
+        Path modDir = Path.of("build", "headless-run");
+        Path mappingsFile = null;
+        boolean development = true;
+        int replicas = 1;
+        int warmupTicks = 200;
+        int ticks = 2000;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--scripts" -> scriptsDir = Path.of(value(args, ++i, arg));
+                case "--mod-dir" -> modDir = Path.of(value(args, ++i, arg));
+                case "--mappings" -> mappingsFile = Path.of(value(args, ++i, arg));
+                case "--production" -> development = false;
+                case "--replicas" -> replicas = positive(value(args, ++i, arg), arg);
+                case "--warmup" -> warmupTicks = Integer.parseInt(value(args, ++i, arg));
+                case "--ticks" -> ticks = positive(value(args, ++i, arg), arg);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (scriptsDir == null) {
+            throw new IllegalArgumentException("Missing required option --scripts <dir>");
+        }
+        return new HeadlessOptions(scriptsDir, modDir, mappingsFile, development, replicas, Math.max(0, warmupTicks), ticks);
+    }
+
+    static String usage() {
+        return "Usage: HeadlessRunner --scripts <dir> [--mod-dir <dir>] [--mappings <file.tiny>] [--production]"
+                + " [--replicas <n>] [--warmup <ticks>] [--ticks <ticks>]";
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int positive(String raw, String option) {
+        int parsed = Integer.parseInt(raw);
+        if (parsed < 1) {
+            throw new IllegalArgumentException(option + " must be at least 1");
+        }
+        return parsed;
+    }
+}
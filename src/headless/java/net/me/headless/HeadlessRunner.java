@@ -0,0 +1,137 @@
+package net.me.headless;
+
+import net.me.headless.stub.StubClient;
+import net.me.scripting.ScriptManager;
+import net.me.scripting.env.DirectoryScriptEnvironment;
+import net.me.scripting.env.ScriptEnvironments;
+import net.me.scripting.events.GameEvents;
+import net.me.scripting.mappings.MappingsManager;
+import net.me.scripting.module.RunningScript;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public final class HeadlessRunner {
+    private static final String TICK_HOOK = "onTick";
+
+    private HeadlessRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        HeadlessOptions options;
+        try {
+            options = HeadlessOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(HeadlessOptions.usage());
+            System.exit(2);
+            return;
+        }
+
+        Path modDir = options.modDir().toAbsolutePath();
+        // Must happen before anything touches Main, whose MOD_DIR is resolved from the environment once.
+        ScriptEnvironments.set(new DirectoryScriptEnvironment(modDir, options.development(), options.mappingsFile()));
+        int staged = stageScripts(options.scriptsDir(), modDir.resolve("scripts"), options.replicas());
+
+        long setupStart = System.nanoTime();
+        MappingsManager.getInstance().init();
+        ScriptManager manager = ScriptManager.getInstance();
+        manager.init();
+        manager.enableAllScripts();
+        long setupNanos = System.nanoTime() - setupStart;
+
+        List<RunningScript> scripts = new ArrayList<>(manager.getRunningScripts());
+        List<RunningScript> ticking = scripts.stream().filter(s -> s.hasHook(TICK_HOOK)).toList();
+        int discovered = manager.getAvailableScripts().size();
+
+        StubClient client = new StubClient();
+        for (int i = 0; i < options.warmupTicks(); i++) {
+            client.advance();
+            for (RunningScript script : ticking) {
+                script.invokeHook(TICK_HOOK, client);
+            }
+            GameEvents.TICK.dispatch();
+            manager.tick();
+        }
+
+        LatencyRecorder hookLatency = new LatencyRecorder(options.ticks() * Math.max(1, ticking.size()));
+        LatencyRecorder tickLatency = new LatencyRecorder(options.ticks());
+        long runStart = System.nanoTime();
+        for (int i = 0; i < options.ticks(); i++) {
+            client.advance();
+            long tickStart = System.nanoTime();
+            for (RunningScript script : ticking) {
+                long hookStart = System.nanoTime();
+                script.invokeHook(TICK_HOOK, client);
+                hookLatency.record(System.nanoTime() - hookStart);
+            }
+            GameEvents.TICK.dispatch();
+            manager.tick();
+            tickLatency.record(System.nanoTime() - tickStart);
+        }
+        long runNanos = System.nanoTime() - runStart;
+
+        for (RunningScript script : scripts) {
+            manager.disableScript(script.getId());
+        }
+
+        String report = formatReport(options, staged, discovered, scripts.size(), ticking.size(),
+                setupNanos, runNanos, hookLatency, tickLatency);
+        System.out.println(report);
+        Files.writeString(modDir.resolve("headless-report.txt"), report);
+
+        System.exit(scripts.isEmpty() ? 1 : 0);
+    }
+
+    // Copies every .js file into the run directory; replicas get a numeric suffix so each one is a distinct script id.
+    private static int stageScripts(Path source, Path target, int replicas) throws IOException {
+        if (!Files.isDirectory(source)) {
+            throw new IOException("Scripts directory does not exist: " + source);
+        }
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> old = Files.list(target)) {
+                for (Path p : old.filter(p -> p.toString().endsWith(".js")).toList()) {
+                    Files.delete(p);
+                }
+            }
+        }
+        Files.createDirectories(target);
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(source)) {
+            files = paths.filter(Files::isRegularFile).filter(p -> p.toString().endsWith(".js")).toList();
+        }
+        int staged = 0;
+        for (Path file : files) {
+            String name = source.relativize(file).toString().replace('/', '_').replace('\\', '_');
+            String base = name.substring(0, name.length() - ".js".length());
+            for (int r = 0; r < replicas; r++) {
+                String copyName = replicas == 1 ? name : base + "." + r + ".js";
+                Files.copy(file, target.resolve(copyName));
+                staged++;
+            }
+        }
+        return staged;
+    }
+
+    private static String formatReport(HeadlessOptions options, int staged, int discovered, int enabled, int ticking,
+                                       long setupNanos, long runNanos,
+                                       LatencyRecorder hookLatency, LatencyRecorder tickLatency) {
+        double runSeconds = runNanos / 1_000_000_000.0;
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Headless script run ===\n");
+        sb.append(String.format("files staged: %d (replicas=%d), modules discovered: %d, enabled: %d, with %s: %d%n",
+                staged, options.replicas(), discovered, enabled, TICK_HOOK, ticking));
+        sb.append(String.format("setup: %.1fms, warmup ticks: %d, measured ticks: %d in %.1fms%n",
+                setupNanos / 1_000_000.0, options.warmupTicks(), options.ticks(), runNanos / 1_000_000.0));
+        sb.append(String.format("throughput: %.0f ticks/s, %.0f hook calls/s%n",
+                options.ticks() / runSeconds, hookLatency.count() / runSeconds));
+        sb.append("tick latency (all scripts): ").append(tickLatency.summarize().format()).append('\n');
+        sb.append("hook latency (per script):  ").append(hookLatency.summarize().format()).append('\n');
+        return sb.toString();
+    }
+}
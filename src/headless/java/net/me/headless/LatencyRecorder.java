@@ -0,0 +1,50 @@
+package net.me.headless;
+
+import java.util.Arrays;
+
+final class LatencyRecorder {
+    private long[] samples;
+    private int size;
+    private long total;
+
+    LatencyRecorder(int expected) {
+        this.samples = new long[Math.max(16, expected)];
+    }
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        total += nanos;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long totalNanos() {
+        return total;
+    }
+
+    Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(size, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                percentile(sorted, 0.99), size == 0 ? 0 : sorted[size - 1]);
+    }
+
+    // Nearest-rank percentile.
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    record Summary(int count, long p50, long p90, long p99, long max) {
+        String format() {
+            return String.format("n=%d p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                    count, p50 / 1_000.0, p90 / 1_000.0, p99 / 1_000.0, max / 1_000.0);
+        }
+    }
+}
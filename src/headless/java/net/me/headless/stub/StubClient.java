@@ -0,0 +1,31 @@
+package net.me.headless.stub;
+
+import java.util.List;
+
+// Stand-in for the client state a script sees on tick; a fixed cast of players moving on a circle.
+public class StubClient {
+    public final StubPlayer player;
+    public final StubWorld world;
+    public long tick;
+
+    public StubClient() {
+        this.player = new StubPlayer("HeadlessPlayer");
+        this.world = new StubWorld(List.of(player, new StubPlayer("Alex"), new StubPlayer("Steve")));
+    }
+
+    public void advance() {
+        tick++;
+        world.time++;
+        for (StubPlayer p : world.players) {
+            p.tick(world.time);
+        }
+    }
+
+    public StubPlayer getPlayer() {
+        return player;
+    }
+
+    public StubWorld getWorld() {
+        return world;
+    }
+}
@@ -0,0 +1,37 @@
+package net.me.headless.stub;
+
+public class StubPlayer {
+    public final String name;
+    public double x;
+    public double y = 64.0;
+    public double z;
+    public float health = 20.0F;
+    public int age;
+
+    public StubPlayer(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public float getHealth() {
+        return health;
+    }
+
+    public void setHealth(float health) {
+        this.health = health;
+    }
+
+    public double distanceTo(double x, double y, double z) {
+        double dx = this.x - x, dy = this.y - y, dz = this.z - z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    void tick(long time) {
+        age++;
+        x = Math.cos(time * 0.05) * 8.0;
+        z = Math.sin(time * 0.05) * 8.0;
+    }
+}
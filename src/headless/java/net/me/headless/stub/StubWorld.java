@@ -0,0 +1,24 @@
+package net.me.headless.stub;
+
+import java.util.List;
+
+public class StubWorld {
+    public long time;
+    public final List<StubPlayer> players;
+
+    public StubWorld(List<StubPlayer> players) {
+        this.players = players;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public List<StubPlayer> getPlayers() {
+        return players;
+    }
+
+    public boolean isDay() {
+        return time % 24000 < 12000;
+    }
+}
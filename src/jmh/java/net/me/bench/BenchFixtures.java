@@ -0,0 +1,55 @@
+package net.me.bench;
+
+import net.me.scripting.env.DirectoryScriptEnvironment;
+import net.me.scripting.env.ScriptEnvironments;
+import net.me.scripting.mappings.MappingsManager;
+import net.me.scripting.utils.MappingUtils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+final class BenchFixtures {
+    static final String MAPPINGS_RESOURCE = "fixtures/bench-mappings.tiny";
+    private static boolean mappingsLoaded;
+
+    private BenchFixtures() {
+    }
+
+    // Loads the fixture Tiny file in the intermediary ("production") namespace, so Yarn names must be remapped.
+    static synchronized void ensureMappings() {
+        if (mappingsLoaded) return;
+        ScriptEnvironments.set(new DirectoryScriptEnvironment(Path.of("build", "jmh-run").toAbsolutePath(), false, null));
+        try (InputStream in = BenchFixtures.class.getClassLoader().getResourceAsStream(MAPPINGS_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark fixture " + MAPPINGS_RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                MappingsManager.getInstance().initFrom(reader, false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        mappingsLoaded = true;
+    }
+
+    static MappingUtils.ClassMappings mappingsFor(Class<?> cls) {
+        ensureMappings();
+        MappingsManager mm = MappingsManager.getInstance();
+        return MappingUtils.combineMappings(cls, mm.getRuntimeToYarnClassMap(), mm.getMethodMap(), mm.getFieldMap());
+    }
+
+    static Context newContext() {
+        return Context.newBuilder("js")
+                .allowHostAccess(HostAccess.ALL)
+                .allowHostClassLookup(name -> name.startsWith("net.me.") || name.startsWith("java."))
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+    }
+}
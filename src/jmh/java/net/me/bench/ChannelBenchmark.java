@@ -0,0 +1,90 @@
+package net.me.bench;
+
+import net.me.scripting.channels.ChannelRegistry;
+import net.me.scripting.engine.ScriptingApi;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Messages per second between two contexts: the benchmark thread's context sends, a second context on its own
+// thread receives. Each invocation moves MESSAGES messages through a 1024-slot channel.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChannelBenchmark {
+    private static final int MESSAGES = 100_000;
+    private static final String SENDER = """
+            (channel, count, payload) => {
+                const ch = channel.open("bench", { mode: MODE });
+                const message = payload === "int" ? 42 : payload === "string" ? "position:128,64,-32" : [1, 2.5, "x"];
+                let sent = 0;
+                while (sent < count) {
+                    if (ch.send(message)) sent++;
+                }
+            }
+            """;
+    private static final String RECEIVER = """
+            (channel, count) => {
+                const ch = channel.open("bench", { mode: MODE });
+                let received = 0;
+                while (received < count) {
+                    if (ch.receive() !== null) received++;
+                }
+                return received;
+            }
+            """;
+
+    @Param({"spsc", "mpsc"})
+    public String mode;
+
+    @Param({"int", "string", "array"})
+    public String payload;
+
+    private ChannelRegistry registry;
+    private ExecutorService receiverThread;
+    private Context senderContext;
+    private Context receiverContext;
+    private Value send;
+    private Value receive;
+    private Object senderApi;
+    private Object receiverApi;
+
+    @Setup
+    public void setup() throws Exception {
+        registry = new ChannelRegistry();
+        senderApi = ScriptingApi.createChannelProxy(registry);
+        receiverApi = ScriptingApi.createChannelProxy(registry);
+        receiverThread = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "channel-bench-receiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        senderContext = BenchFixtures.newContext();
+        send = senderContext.eval("js", SENDER.replace("MODE", "\"" + mode + "\""));
+        receiverThread.submit(() -> {
+            receiverContext = BenchFixtures.newContext();
+            receive = receiverContext.eval("js", RECEIVER.replace("MODE", "\"" + mode + "\""));
+        }).get();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        receiverThread.submit(() -> receiverContext.close()).get();
+        receiverThread.shutdown();
+        senderContext.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public int transfer() throws ExecutionException, InterruptedException {
+        Future<Integer> received = receiverThread.submit(() -> receive.execute(receiverApi, MESSAGES).asInt());
+        send.execute(senderApi, MESSAGES, payload);
+        return received.get();
+    }
+}
@@ -0,0 +1,44 @@
+package net.me.bench;
+
+import net.me.bench.fixture.class_9002;
+import net.me.scripting.config.ExtensionConfig;
+import net.me.scripting.config.MappedClassInfo;
+import net.me.scripting.engine.ScriptIntrinsics;
+import net.me.scripting.extenders.MappedClassExtender;
+import net.me.scripting.utils.MappingUtils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExtenderBenchmark {
+    private Context context;
+    private MappedClassExtender extender;
+    private Value instanceConfig;
+
+    @Setup
+    public void setup() {
+        MappingUtils.ClassMappings cm = BenchFixtures.mappingsFor(class_9002.class);
+        context = BenchFixtures.newContext();
+        context.enter();
+        MappedClassInfo info = new MappedClassInfo("net.me.bench.fixture.BenchPlayer", class_9002.class, cm.methods(), cm.fields());
+        extender = new MappedClassExtender(new ExtensionConfig(info, List.of(), context), new ScriptIntrinsics(context), null, null, null);
+        instanceConfig = context.eval("js", "({ overrides: { tick() { this._super.tick(); } }, addons: { bonus() { return 1; } } })");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.leave();
+        context.close();
+    }
+
+    @Benchmark
+    public Object newInstance() {
+        return extender.newInstance(instanceConfig);
+    }
+}
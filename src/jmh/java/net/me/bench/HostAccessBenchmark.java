@@ -0,0 +1,61 @@
+package net.me.bench;
+
+import net.me.bench.fixture.class_9002;
+import net.me.scripting.utils.MappingUtils;
+import net.me.scripting.wrappers.JsObjectWrapper;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Each benchmark runs a 100-iteration JS loop so the numbers include the guest/host transition.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HostAccessBenchmark {
+    private Context context;
+    private class_9002 rawInstance;
+    private JsObjectWrapper wrapped;
+    private Value invokeRaw;
+    private Value invokeWrapped;
+    private Value readRaw;
+    private Value readWrapped;
+
+    @Setup
+    public void setup() {
+        MappingUtils.ClassMappings cm = BenchFixtures.mappingsFor(class_9002.class);
+        context = BenchFixtures.newContext();
+        rawInstance = new class_9002();
+        wrapped = new JsObjectWrapper(rawInstance, class_9002.class, cm.methods(), cm.fields());
+        invokeRaw = context.eval("js", "(h) => { let s = 0; for (let i = 0; i < 100; i++) s += h.method_9201(); return s; }");
+        invokeWrapped = context.eval("js", "(w) => { let s = 0; for (let i = 0; i < 100; i++) s += w.getHealth(); return s; }");
+        readRaw = context.eval("js", "(h) => { let s = 0; for (let i = 0; i < 100; i++) s += h.field_9101; return s; }");
+        readWrapped = context.eval("js", "(w) => { let s = 0; for (let i = 0; i < 100; i++) s += w.health; return s; }");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double baselineRawInvoke() {
+        return invokeRaw.execute(rawInstance).asDouble();
+    }
+
+    @Benchmark
+    public double wrapperInvoke() {
+        return invokeWrapped.execute(wrapped).asDouble();
+    }
+
+    @Benchmark
+    public double baselineRawFieldGet() {
+        return readRaw.execute(rawInstance).asDouble();
+    }
+
+    @Benchmark
+    public double wrapperFieldGet() {
+        return readWrapped.execute(wrapped).asDouble();
+    }
+}
@@ -0,0 +1,52 @@
+package net.me.bench;
+
+import net.me.bench.fixture.class_9002;
+import net.me.scripting.utils.MappingUtils;
+import net.me.scripting.wrappers.support.FieldLookup;
+import net.me.scripting.wrappers.support.MethodLookup;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LookupBenchmark {
+    private MethodLookup methods;
+    private FieldLookup fields;
+
+    @Setup
+    public void setup() {
+        MappingUtils.ClassMappings cm = BenchFixtures.mappingsFor(class_9002.class);
+        methods = new MethodLookup(cm.methods());
+        fields = new FieldLookup(cm.fields());
+    }
+
+    @Benchmark
+    public List<Method> mappedMethodHit() {
+        return methods.findMethods(class_9002.class, "getHealth");
+    }
+
+    @Benchmark
+    public List<Method> directMethodHit() {
+        return MethodLookup.findDirect(class_9002.class, "method_9205");
+    }
+
+    @Benchmark
+    public boolean directMethodMiss() {
+        return MethodLookup.hasDirect(class_9002.class, "notAMember");
+    }
+
+    @Benchmark
+    public Field mappedFieldHit() {
+        return fields.accessField(class_9002.class, "health");
+    }
+
+    @Benchmark
+    public Field fieldMiss() {
+        return fields.accessField(class_9002.class, "notAField");
+    }
+}
@@ -0,0 +1,44 @@
+package net.me.bench;
+
+import net.me.bench.fixture.class_9001;
+import net.me.bench.fixture.class_9002;
+import net.me.scripting.mappings.MappingsManager;
+import net.me.scripting.utils.MappingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingUtilsBenchmark {
+    private Map<String, String> runtimeToYarn;
+    private Map<String, Map<String, List<String>>> methods;
+    private Map<String, Map<String, String>> fields;
+
+    @Setup
+    public void setup() {
+        BenchFixtures.ensureMappings();
+        MappingsManager mm = MappingsManager.getInstance();
+        runtimeToYarn = mm.getRuntimeToYarnClassMap();
+        methods = mm.getMethodMap();
+        fields = mm.getFieldMap();
+    }
+
+    @Benchmark
+    public MappingUtils.ClassMappings combineMappingsLeaf() {
+        return MappingUtils.combineMappings(class_9002.class, runtimeToYarn, methods, fields);
+    }
+
+    @Benchmark
+    public MappingUtils.ClassMappings combineMappingsBase() {
+        return MappingUtils.combineMappings(class_9001.class, runtimeToYarn, methods, fields);
+    }
+
+    @Benchmark
+    public MappingUtils.ClassMappings combineMappingsUnmapped() {
+        return MappingUtils.combineMappings(java.util.ArrayList.class, runtimeToYarn, methods, fields);
+    }
+}
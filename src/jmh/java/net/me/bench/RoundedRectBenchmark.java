@@ -0,0 +1,105 @@
+package net.me.bench;
+
+import net.me.utils.RoundedRectGeometry;
+import net.me.utils.VertexSink;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// One "frame" is 1,000 rounded rects emitted into a sink that only accumulates, so the cost measured is geometry alone.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoundedRectBenchmark {
+    private static final int RECTS_PER_FRAME = 1_000;
+
+    @Param({"5", "10"})
+    public int quality;
+
+    private final CountingSink sink = new CountingSink();
+
+    @Benchmark
+    public long cachedGeometry() {
+        sink.reset();
+        for (int i = 0; i < RECTS_PER_FRAME; i++) {
+            RoundedRectGeometry.fill(sink, (i % 40) * 20f, (i / 40) * 24f, 18f, 22f, 3f, quality, 0xFF303030);
+        }
+        return sink.checksum();
+    }
+
+    @Benchmark
+    public long cachedOutline() {
+        sink.reset();
+        for (int i = 0; i < RECTS_PER_FRAME; i++) {
+            RoundedRectGeometry.outline(sink, (i % 40) * 20f, (i / 40) * 24f, 18f, 22f, 3f, 1f, quality, 0xFF303030);
+        }
+        return sink.checksum();
+    }
+
+    // The per-vertex Math.sin/Math.cos path that Render2DUtils used before the geometry cache.
+    @Benchmark
+    public long baselineTrigPerVertex() {
+        sink.reset();
+        for (int i = 0; i < RECTS_PER_FRAME; i++) {
+            legacyFill(sink, (i % 40) * 20f, (i / 40) * 24f, 18f, 22f, 3f, quality, 0xFF303030);
+        }
+        return sink.checksum();
+    }
+
+    private static void legacyFill(VertexSink sink, float x, float y, float width, float height, float radius, float quality, int color) {
+        radius = Math.max(0, Math.min(Math.min(width, height) / 2, radius));
+        float x2 = x + width;
+        float y2 = y + height;
+        float centerX = x + width / 2;
+        float centerY = y + height / 2;
+        float lastVx = x2;
+        float lastVy = y2 - radius;
+        for (int i = (int) quality; i <= 360; i += (int) quality) {
+            double angle = Math.toRadians(i);
+            float cx, cy;
+            if (i <= 90) {
+                cx = x2 - radius;
+                cy = y2 - radius;
+            } else if (i <= 180) {
+                cx = x + radius;
+                cy = y2 - radius;
+            } else if (i <= 270) {
+                cx = x + radius;
+                cy = y + radius;
+            } else {
+                cx = x2 - radius;
+                cy = y + radius;
+            }
+            float vx = cx + (float) (Math.cos(angle) * radius);
+            float vy = cy + (float) (Math.sin(angle) * radius);
+            sink.vertex(centerX, centerY, color);
+            sink.vertex(lastVx, lastVy, color);
+            sink.vertex(vx, vy, color);
+            lastVx = vx;
+            lastVy = vy;
+        }
+        sink.vertex(centerX, centerY, color);
+        sink.vertex(lastVx, lastVy + height - radius * 2, color);
+        sink.vertex(lastVx, lastVy, color);
+    }
+
+    private static final class CountingSink implements VertexSink {
+        private long vertices;
+        private float sum;
+
+        @Override
+        public void vertex(float x, float y, int color) {
+            vertices++;
+            sum += x + y;
+        }
+
+        void reset() {
+            vertices = 0;
+            sum = 0;
+        }
+
+        long checksum() {
+            return vertices ^ Float.floatToIntBits(sum);
+        }
+    }
+}
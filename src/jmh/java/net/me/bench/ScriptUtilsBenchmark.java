@@ -0,0 +1,62 @@
+package net.me.bench;
+
+import net.me.bench.fixture.class_9002;
+import net.me.scripting.utils.ScriptUtils;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScriptUtilsBenchmark {
+    private static final Class<?>[] ARG_TYPES = {int.class, double.class, String.class, class_9002.class};
+
+    private Context context;
+    private class_9002 mappedInstance;
+    private Object unmappedInstance;
+    private Value[] args;
+
+    @Setup
+    public void setup() {
+        BenchFixtures.ensureMappings();
+        context = BenchFixtures.newContext();
+        context.enter();
+        mappedInstance = new class_9002();
+        unmappedInstance = new StringBuilder("bench");
+        args = new Value[]{
+                context.asValue(42),
+                context.asValue(1.5),
+                context.asValue("text"),
+                context.asValue(ScriptUtils.wrapReturn(mappedInstance))
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.leave();
+        context.close();
+    }
+
+    @Benchmark
+    public Object wrapReturnMapped() {
+        return ScriptUtils.wrapReturn(mappedInstance);
+    }
+
+    @Benchmark
+    public Object wrapReturnUnmapped() {
+        return ScriptUtils.wrapReturn(unmappedInstance);
+    }
+
+    @Benchmark
+    public Object[] unwrapArgsTyped() {
+        return ScriptUtils.unwrapArgs(args, ARG_TYPES);
+    }
+
+    @Benchmark
+    public Object[] unwrapArgsUntyped() {
+        return ScriptUtils.unwrapArgs(args, null);
+    }
+}
@@ -0,0 +1,20 @@
+package net.me.bench.fixture;
+
+// Synthetic stand-in for a mapped entity class; the name mirrors intermediary naming on purpose.
+@SuppressWarnings("unused")
+public class class_9001 {
+    public double field_9101 = 20.0;
+    public int field_9102;
+
+    public double method_9201() {
+        return field_9101;
+    }
+
+    public void method_9202(double health) {
+        this.field_9101 = health;
+    }
+
+    public double method_9203(double x, double z) {
+        return Math.sqrt(x * x + z * z);
+    }
+}
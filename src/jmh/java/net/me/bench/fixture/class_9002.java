@@ -0,0 +1,19 @@
+package net.me.bench.fixture;
+
+@SuppressWarnings("unused")
+public class class_9002 extends class_9001 implements class_9003 {
+    public int field_9103;
+
+    public static class_9002 method_9206() {
+        return new class_9002();
+    }
+
+    @Override
+    public void method_9204() {
+        field_9102++;
+    }
+
+    public String method_9205() {
+        return "bench";
+    }
+}
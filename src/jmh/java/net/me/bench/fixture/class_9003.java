@@ -0,0 +1,5 @@
+package net.me.bench.fixture;
+
+public interface class_9003 {
+    void method_9204();
+}